@@ -23,6 +23,7 @@ import com.trollworks.gcs.ui.UIUtilities;
 import com.trollworks.gcs.ui.widget.Modal;
 import com.trollworks.gcs.ui.widget.Workspace;
 import com.trollworks.gcs.utility.I18n;
+import com.trollworks.gcs.utility.Log;
 import com.trollworks.gcs.utility.Platform;
 import com.trollworks.gcs.utility.UpdateChecker;
 import com.trollworks.gcs.utility.Version;
@@ -41,6 +42,7 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 import java.util.regex.Pattern;
@@ -113,6 +115,7 @@ public final class GCS {
      * @param args Arguments to the program.
      */
     public static void main(String[] args) {
+        long         startedAt    = System.nanoTime();
         boolean      showVersion  = false;
         boolean      generatePNG  = false;
         boolean      generateText = false;
@@ -236,6 +239,7 @@ public final class GCS {
 
         LaunchProxy launchProxy = new LaunchProxy();
         launchProxy.start(files);
+        Log.info(String.format("launch proxy handshake completed after %d ms", Long.valueOf(elapsedMillis(startedAt))));
         UIUtilities.initialize();
 
         if (Desktop.isDesktopSupported()) {
@@ -274,9 +278,14 @@ public final class GCS {
                 Modal.showError(null, Text.wrapToCharacterCount(I18n.text("macOS has translocated GCS, restricting access to the file system and preventing access to the data library. To fix this, you must quit GCS, then run the following command in the terminal after cd'ing into the GURPS Character Sheet folder:\n\n"), 60) + "xattr -d com.apple.quarantine \"/Applications/GCS.app\"");
             }
             setNotificationAllowed(true);
+            Log.info(String.format("startup completed after %d ms", Long.valueOf(elapsedMillis(startedAt))));
         });
     }
 
+    private static long elapsedMillis(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
     private static void showHelp() {
         System.out.println(APP_BANNER);
         System.out.println();
@@ -771,11 +771,9 @@ public class Advantage extends ListRow implements HasSourceReference, Switchable
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> pieces) {
+        pieces.add(getName());
+        super.addSearchText(pieces);
     }
 
     /** @return The type as a text string. */
@@ -60,6 +60,10 @@ public class Attribute {
     }
 
     public PoolThreshold getCurrentThreshold(GURPSCharacter character) {
+        return character.getAttributeValues().getCurrentThreshold(this);
+    }
+
+    PoolThreshold computeCurrentThreshold(GURPSCharacter character) {
         AttributeDef def = getAttrDef(character);
         if (def != null) {
             List<PoolThreshold> thresholds = def.getThresholds();
@@ -93,6 +97,10 @@ public class Attribute {
     }
 
     public double getDoubleValue(GURPSCharacter character) {
+        return character.getAttributeValues().getDoubleValue(this);
+    }
+
+    double computeDoubleValue(GURPSCharacter character) {
         AttributeDef def = getAttrDef(character);
         if (def != null) {
             return def.getBaseValue(character) + mAdjustment + mBonus;
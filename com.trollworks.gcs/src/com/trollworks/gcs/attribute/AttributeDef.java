@@ -55,6 +55,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     private int                 mCostPerPoint;
     private int                 mCostAdjPercentPerSM;
     private List<PoolThreshold> mThresholds;
+    private boolean             mReadOnly;
 
     static {
         RESERVED.add("skill");
@@ -223,6 +224,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     }
 
     public void setID(String id) {
+        checkWritable();
         mID = ID.sanitize(id, RESERVED, false);
     }
 
@@ -231,6 +233,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     }
 
     public void setType(AttributeType type) {
+        checkWritable();
         mType = type;
         if (mType == AttributeType.POOL) {
             if (mThresholds == null) {
@@ -256,6 +259,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     }
 
     public void setName(String name) {
+        checkWritable();
         mName = name;
     }
 
@@ -264,6 +268,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     }
 
     public void setFullName(String fullName) {
+        checkWritable();
         mFullName = fullName;
     }
 
@@ -272,6 +277,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     }
 
     public void setAttributeBase(String attributeBase) {
+        checkWritable();
         mAttributeBase = attributeBase;
     }
 
@@ -280,6 +286,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     }
 
     public void setOrder(int order) {
+        checkWritable();
         mOrder = order;
     }
 
@@ -288,6 +295,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     }
 
     public void setCostPerPoint(int costPerPoint) {
+        checkWritable();
         mCostPerPoint = costPerPoint;
     }
 
@@ -296,6 +304,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     }
 
     public void setCostAdjPercentPerSM(int costAdjPercentPerSM) {
+        checkWritable();
         mCostAdjPercentPerSM = costAdjPercentPerSM;
     }
 
@@ -304,9 +313,32 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
     }
 
     public void setThresholds(List<PoolThreshold> thresholds) {
+        checkWritable();
         mThresholds = thresholds;
     }
 
+    /**
+     * Makes this definition and its thresholds read-only, so that it may be shared. Use a clone to
+     * obtain a copy that can be modified.
+     */
+    public void makeReadOnly() {
+        if (!mReadOnly) {
+            mReadOnly = true;
+            if (mThresholds != null) {
+                for (PoolThreshold threshold : mThresholds) {
+                    threshold.makeReadOnly();
+                }
+                mThresholds = Collections.unmodifiableList(mThresholds);
+            }
+        }
+    }
+
+    private void checkWritable() {
+        if (mReadOnly) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     public boolean isPrimary() {
         try {
             Integer.parseInt(mAttributeBase);
@@ -425,6 +457,7 @@ public class AttributeDef implements Cloneable, Comparable<AttributeDef> {
         AttributeDef other = null;
         try {
             other = (AttributeDef) super.clone();
+            other.mReadOnly = false;
             if (mType == AttributeType.POOL) {
                 if (mThresholds != null) {
                     other.mThresholds = PoolThreshold.cloneList(mThresholds);
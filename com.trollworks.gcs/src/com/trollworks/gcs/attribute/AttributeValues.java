@@ -0,0 +1,102 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.attribute;
+
+import com.trollworks.gcs.character.GURPSCharacter;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The values of a character's attributes and the current thresholds of its pools. Base values are
+ * formulas that may refer to other attributes, so each value is resolved at most once, after the
+ * values it depends upon, and then reused until the character's recalculation epoch moves on.
+ */
+public final class AttributeValues {
+    private GURPSCharacter        mCharacter;
+    private long                  mEpoch;
+    private Map<Attribute, Entry> mEntries;
+    private int[]                 mThresholdOpCounts;
+
+    public AttributeValues(GURPSCharacter character) {
+        mCharacter = character;
+        mEpoch = character.getRecalculationEpoch();
+        mEntries = new IdentityHashMap<>();
+    }
+
+    /** @return {@code true} if these values still reflect the current state of the character. */
+    public boolean isCurrent() {
+        return mEpoch == mCharacter.getRecalculationEpoch();
+    }
+
+    double getDoubleValue(Attribute attr) {
+        Entry entry = mEntries.get(attr);
+        if (entry == null) {
+            if (mEntries.containsKey(attr)) {
+                // The attribute refers back to itself, so resolve it directly and let the
+                // character's variable resolver report the cycle.
+                return attr.computeDoubleValue(mCharacter);
+            }
+            mEntries.put(attr, null);
+            entry = new Entry(attr.computeDoubleValue(mCharacter));
+            mEntries.put(attr, entry);
+        }
+        return entry.mValue;
+    }
+
+    PoolThreshold getCurrentThreshold(Attribute attr) {
+        getDoubleValue(attr);
+        Entry entry = mEntries.get(attr);
+        if (entry == null) {
+            return attr.computeCurrentThreshold(mCharacter);
+        }
+        if (!entry.mThresholdResolved) {
+            entry.mThreshold = attr.computeCurrentThreshold(mCharacter);
+            entry.mThresholdResolved = true;
+        }
+        return entry.mThreshold;
+    }
+
+    /**
+     * @param op The threshold operation to check for.
+     * @return The number of the character's attributes whose current threshold applies the
+     *         operation.
+     */
+    public int countThresholdOpMet(ThresholdOps op) {
+        if (mThresholdOpCounts == null) {
+            ThresholdOps[] ops    = ThresholdOps.values();
+            int[]          counts = new int[ops.length];
+            for (Attribute attr : mCharacter.getAttributes().values()) {
+                PoolThreshold threshold = getCurrentThreshold(attr);
+                if (threshold != null) {
+                    for (ThresholdOps one : ops) {
+                        if (threshold.getOps().contains(one)) {
+                            counts[one.ordinal()]++;
+                        }
+                    }
+                }
+            }
+            mThresholdOpCounts = counts;
+        }
+        return mThresholdOpCounts[op.ordinal()];
+    }
+
+    private static class Entry {
+        double        mValue;
+        PoolThreshold mThreshold;
+        boolean       mThresholdResolved;
+
+        Entry(double value) {
+            mValue = value;
+        }
+    }
+}
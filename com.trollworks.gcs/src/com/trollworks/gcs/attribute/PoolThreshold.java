@@ -37,6 +37,7 @@ public class PoolThreshold implements Cloneable {
     private int                mDivisor;
     private int                mAddition;
     private List<ThresholdOps> mOps;
+    private boolean            mReadOnly;
 
     public static final List<PoolThreshold> cloneList(List<PoolThreshold> list) {
         List<PoolThreshold> result = new ArrayList<>();
@@ -88,6 +89,7 @@ public class PoolThreshold implements Cloneable {
     }
 
     public void setMultiplier(int multiplier) {
+        checkWritable();
         mMultiplier = multiplier;
     }
 
@@ -96,6 +98,7 @@ public class PoolThreshold implements Cloneable {
     }
 
     public void setDivisor(int divisor) {
+        checkWritable();
         mDivisor = divisor;
     }
 
@@ -104,6 +107,7 @@ public class PoolThreshold implements Cloneable {
     }
 
     public void setAddition(int addition) {
+        checkWritable();
         mAddition = addition;
     }
 
@@ -112,6 +116,7 @@ public class PoolThreshold implements Cloneable {
     }
 
     public void setState(String state) {
+        checkWritable();
         mState = state;
     }
 
@@ -120,6 +125,7 @@ public class PoolThreshold implements Cloneable {
     }
 
     public void setExplanation(String explanation) {
+        checkWritable();
         mExplanation = explanation;
     }
 
@@ -127,6 +133,18 @@ public class PoolThreshold implements Cloneable {
         return mOps;
     }
 
+    /** Makes this threshold read-only, so that it may be shared. */
+    void makeReadOnly() {
+        mReadOnly = true;
+        mOps = Collections.unmodifiableList(mOps);
+    }
+
+    private void checkWritable() {
+        if (mReadOnly) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     public void toJSON(JsonWriter w) throws IOException {
         w.startMap();
         w.keyValue(KEY_STATE, mState);
@@ -187,6 +205,7 @@ public class PoolThreshold implements Cloneable {
         PoolThreshold other = null;
         try {
             other = (PoolThreshold) super.clone();
+            other.mReadOnly = false;
             other.mOps = new ArrayList<>(mOps);
         } catch (CloneNotSupportedException e) {
             // This can't happen
@@ -41,6 +41,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     private              String           mDescription;
     private              HitLocationTable mOwningTable;
     private              HitLocationTable mSubTable;
+    private              boolean          mReadOnly;
 
     public HitLocation(String id, String name, int slots, int hitPenalty, int drBonus, String description) {
         this(id, name, name, slots, hitPenalty, drBonus, description);
@@ -100,6 +101,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setID(String id) {
+        checkWritable();
         mID = com.trollworks.gcs.utility.ID.sanitize(id, null, false);
     }
 
@@ -108,6 +110,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setChoiceName(String name) {
+        checkWritable();
         mChoiceName = name;
     }
 
@@ -116,6 +119,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setTableName(String name) {
+        checkWritable();
         mTableName = name;
     }
 
@@ -124,6 +128,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setSlots(int slots) {
+        checkWritable();
         mSlots = slots;
     }
 
@@ -132,6 +137,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setRollRange(String rollRange) {
+        checkWritable();
         mRollRange = rollRange;
     }
 
@@ -140,6 +146,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setHitPenalty(int penalty) {
+        checkWritable();
         mHitPenalty = penalty;
     }
 
@@ -162,6 +169,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setDRBonus(int bonus) {
+        checkWritable();
         mDRBonus = bonus;
     }
 
@@ -170,6 +178,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setDescription(String description) {
+        checkWritable();
         mDescription = description;
     }
 
@@ -178,6 +187,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setOwningTable(HitLocationTable table) {
+        checkWritable();
         mOwningTable = table;
     }
 
@@ -186,6 +196,7 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
     }
 
     public void setSubTable(HitLocationTable table) {
+        checkWritable();
         if (table == null && mSubTable != null) {
             mSubTable.setOwningLocation(null);
         }
@@ -195,6 +206,20 @@ public class HitLocation implements Cloneable, Comparable<HitLocation> {
         }
     }
 
+    /** Makes this location and its sub-table read-only, so that they may be shared. */
+    void makeReadOnly() {
+        mReadOnly = true;
+        if (mSubTable != null) {
+            mSubTable.makeReadOnly();
+        }
+    }
+
+    private void checkWritable() {
+        if (mReadOnly) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     protected void populateMap(Map<String, HitLocation> map) {
         map.put(mID, this);
         if (mSubTable != null) {
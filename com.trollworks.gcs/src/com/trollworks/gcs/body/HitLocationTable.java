@@ -45,6 +45,7 @@ public class HitLocationTable implements Cloneable, Comparable<HitLocationTable>
     private              List<HitLocation>        mLocations;
     private              HitLocation              mOwningLocation;
     private              Map<String, HitLocation> mLocationLookup;
+    private              boolean                  mReadOnly;
 
     public HitLocationTable(String id, String name, Dice roll) {
         setID(id);
@@ -99,6 +100,10 @@ public class HitLocationTable implements Cloneable, Comparable<HitLocationTable>
     }
 
     public void update() {
+        if (mReadOnly) {
+            // Already brought up-to-date when it was made read-only
+            return;
+        }
         updateRollRanges();
         mLocationLookup = new HashMap<>();
         populateMap(mLocationLookup);
@@ -109,6 +114,7 @@ public class HitLocationTable implements Cloneable, Comparable<HitLocationTable>
     }
 
     public void setID(String id) {
+        checkWritable();
         mID = com.trollworks.gcs.utility.ID.sanitize(id, null, false);
     }
 
@@ -117,14 +123,17 @@ public class HitLocationTable implements Cloneable, Comparable<HitLocationTable>
     }
 
     public void setName(String name) {
+        checkWritable();
         mName = name;
     }
 
     public Dice getRoll() {
-        return mRoll;
+        // Dice are mutable, so a read-only table hands out copies
+        return mReadOnly ? mRoll.clone() : mRoll;
     }
 
     public void setRoll(Dice roll) {
+        checkWritable();
         mRoll = roll;
     }
 
@@ -133,11 +142,13 @@ public class HitLocationTable implements Cloneable, Comparable<HitLocationTable>
     }
 
     public void addLocation(HitLocation location) {
+        checkWritable();
         mLocations.add(location);
         location.setOwningTable(this);
     }
 
     public void removeLocation(HitLocation location) {
+        checkWritable();
         mLocations.remove(location);
         location.setOwningTable(null);
     }
@@ -147,6 +158,7 @@ public class HitLocationTable implements Cloneable, Comparable<HitLocationTable>
     }
 
     public void setOwningLocation(HitLocation owningLocation) {
+        checkWritable();
         mOwningLocation = owningLocation;
         if (mOwningLocation != null) {
             mID = "";
@@ -154,6 +166,27 @@ public class HitLocationTable implements Cloneable, Comparable<HitLocationTable>
         }
     }
 
+    /**
+     * Makes this table and its locations read-only, so that it may be shared. Use a clone to obtain
+     * a copy that can be modified.
+     */
+    public void makeReadOnly() {
+        if (!mReadOnly) {
+            update();
+            mReadOnly = true;
+            for (HitLocation location : mLocations) {
+                location.makeReadOnly();
+            }
+            mLocations = Collections.unmodifiableList(mLocations);
+        }
+    }
+
+    private void checkWritable() {
+        if (mReadOnly) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     private void updateRollRanges() {
         int start = mRoll.min(false);
         for (HitLocation location : mLocations) {
@@ -207,6 +240,7 @@ public class HitLocationTable implements Cloneable, Comparable<HitLocationTable>
     }
 
     public void resetTo(HitLocationTable other) {
+        checkWritable();
         mID = other.mID;
         mName = other.mName;
         mRoll = other.mRoll;
@@ -240,9 +274,10 @@ public class HitLocationTable implements Cloneable, Comparable<HitLocationTable>
 
     @Override
     public int hashCode() {
+        // Dice deliberately hash by identity, so the roll is left out to keep this consistent with
+        // equals()
         int result = mID.hashCode();
         result = 31 * result + mName.hashCode();
-        result = 31 * result + mRoll.hashCode();
         result = 31 * result + mLocations.hashCode();
         return result;
     }
@@ -18,7 +18,6 @@ import com.trollworks.gcs.advantage.SelfControlRollAdjustments;
 import com.trollworks.gcs.character.panels.AttributesPanel;
 import com.trollworks.gcs.character.panels.BodyTypePanel;
 import com.trollworks.gcs.character.panels.DescriptionPanel;
-import com.trollworks.gcs.character.panels.DoubleOutlinePanel;
 import com.trollworks.gcs.character.panels.EncumbrancePanel;
 import com.trollworks.gcs.character.panels.IdentityPanel;
 import com.trollworks.gcs.character.panels.LiftPanel;
@@ -26,7 +25,6 @@ import com.trollworks.gcs.character.panels.MiscPanel;
 import com.trollworks.gcs.character.panels.PointPoolsPanel;
 import com.trollworks.gcs.character.panels.PointsPanel;
 import com.trollworks.gcs.character.panels.PortraitPanel;
-import com.trollworks.gcs.character.panels.SingleOutlinePanel;
 import com.trollworks.gcs.equipment.Equipment;
 import com.trollworks.gcs.equipment.EquipmentColumn;
 import com.trollworks.gcs.feature.ConditionalModifier;
@@ -125,6 +123,8 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
     private              Scale                       mSavedScale;
     private              boolean                     mOkToPaint                = true;
     private              boolean                     mIsPrinting;
+    private              PageAssembler               mPageAssembler;
+    private              boolean                     mPanelsOutOfDate;
 
     /**
      * Creates a new character sheet display. {@link #rebuild()} must be called prior to the first
@@ -150,14 +150,23 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         super.dispose();
     }
 
+    @Override
+    public void dataWasChanged() {
+        mPanelsOutOfDate = true;
+        super.dataWasChanged();
+    }
+
     @Override
     public void rebuild() {
-        KeyboardFocusManager focusMgr = KeyboardFocusManager.getCurrentKeyboardFocusManager();
-        Component            focus    = focusMgr.getPermanentFocusOwner();
-        int                  firstRow = 0;
-        String               focusKey = null;
+        KeyboardFocusManager focusMgr    = KeyboardFocusManager.getCurrentKeyboardFocusManager();
+        Component            focus       = focusMgr.getPermanentFocusOwner();
+        int                  firstRow    = 0;
+        String               focusKey    = null;
+        boolean              reusePanels = !mPanelsOutOfDate;
         PageAssembler        pageAssembler;
 
+        mPanelsOutOfDate = false;
+
         if (UIUtilities.getSelfOrAncestorOfType(focus, CharacterSheet.class) == this) {
             if (focus instanceof PageField) {
                 focusKey = ((PageField) focus).getTag();
@@ -194,31 +203,12 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         column = getOtherEquipmentOutline().getModel().getColumnWithID(descColID);
         column.setName(EquipmentColumn.DESCRIPTION.toString(mCharacter, false));
 
-        // Clear out the old pages
-        removeAll();
-
-        // Create the first page, which holds stuff that has a fixed vertical size.
-        pageAssembler = new PageAssembler(this);
-        Wrapper wrapper = new Wrapper(new PrecisionLayout().setColumns(4).setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
-        wrapper.add(new PortraitPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setVerticalSpan(2));
-        wrapper.add(new IdentityPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
-        wrapper.add(new MiscPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment());
-        wrapper.add(new PointsPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setVerticalSpan(2));
-        wrapper.add(new DescriptionPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setHorizontalSpan(2));
-        pageAssembler.addToContent(wrapper, null, null);
-
-        wrapper = new Wrapper(new PrecisionLayout().setColumns(3).setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
-        Wrapper wrapper2 = new Wrapper(new PrecisionLayout().setColumns(2).setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
-        wrapper2.add(new AttributesPanel(this, true), new PrecisionLayoutData().setGrabVerticalSpace(false).setGrabHorizontalSpace(true).setFillAlignment());
-        wrapper2.add(new AttributesPanel(this, false), new PrecisionLayoutData().setGrabVerticalSpace(false).setGrabHorizontalSpace(true).setFillAlignment());
-        wrapper2.add(new PointPoolsPanel(this), new PrecisionLayoutData().setHorizontalSpan(2).setGrabSpace(true).setFillAlignment());
-        wrapper.add(wrapper2, new PrecisionLayoutData().setFillAlignment());
-        wrapper.add(new BodyTypePanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment());
-        wrapper2 = new Wrapper(new PrecisionLayout().setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
-        wrapper2.add(new EncumbrancePanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
-        wrapper2.add(new LiftPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
-        wrapper.add(wrapper2, new PrecisionLayoutData().setGrabSpace(true).setFillAlignment());
-        pageAssembler.addToContent(wrapper, null, null);
+        // Create the first page, which holds stuff that has a fixed vertical size. The panels on it
+        // show values taken at the time of their creation, so may only be reused if nothing has
+        // changed since.
+        pageAssembler = new PageAssembler(this, mPageAssembler, reusePanels);
+        pageAssembler.addToContent(new PageBlock("identity", this::createIdentityBlock));
+        pageAssembler.addToContent(new PageBlock("attributes", this::createAttributesBlock));
 
         // Add the various outline blocks, based on the layout preference.
         boolean     addedAtLeastOneOutline = false;
@@ -258,9 +248,11 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
             }
         }
         if (!addedAtLeastOneOutline) {
-            pageAssembler.addToContent(new Wrapper(), null, null);
+            pageAssembler.addToContent(new PageBlock("empty", Wrapper::new));
         }
+        // Only the pages from the first one whose layout changed onward are actually replaced
         pageAssembler.finish();
+        mPageAssembler = pageAssembler;
 
         // Ensure everything is laid out and register for notification
         validate();
@@ -275,6 +267,31 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         repaint();
     }
 
+    private Container createIdentityBlock() {
+        Wrapper wrapper = new Wrapper(new PrecisionLayout().setColumns(4).setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
+        wrapper.add(new PortraitPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setVerticalSpan(2));
+        wrapper.add(new IdentityPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
+        wrapper.add(new MiscPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment());
+        wrapper.add(new PointsPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setVerticalSpan(2));
+        wrapper.add(new DescriptionPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setHorizontalSpan(2));
+        return wrapper;
+    }
+
+    private Container createAttributesBlock() {
+        Wrapper wrapper = new Wrapper(new PrecisionLayout().setColumns(3).setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
+        Wrapper wrapper2 = new Wrapper(new PrecisionLayout().setColumns(2).setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
+        wrapper2.add(new AttributesPanel(this, true), new PrecisionLayoutData().setGrabVerticalSpace(false).setGrabHorizontalSpace(true).setFillAlignment());
+        wrapper2.add(new AttributesPanel(this, false), new PrecisionLayoutData().setGrabVerticalSpace(false).setGrabHorizontalSpace(true).setFillAlignment());
+        wrapper2.add(new PointPoolsPanel(this), new PrecisionLayoutData().setHorizontalSpan(2).setGrabSpace(true).setFillAlignment());
+        wrapper.add(wrapper2, new PrecisionLayoutData().setFillAlignment());
+        wrapper.add(new BodyTypePanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment());
+        wrapper2 = new Wrapper(new PrecisionLayout().setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
+        wrapper2.add(new EncumbrancePanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
+        wrapper2.add(new LiftPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
+        wrapper.add(wrapper2, new PrecisionLayoutData().setGrabSpace(true).setFillAlignment());
+        return wrapper;
+    }
+
     private static void syncOutline(Outline outline) {
         if (outline != null) {
             outline.sizeColumnsToFit();
@@ -385,7 +402,7 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         if (outline.getModel().getRowCount() > 0) {
             OutlineInfo info     = new OutlineInfo(outline, pageAssembler.getContentWidth());
             boolean     useProxy = false;
-            while (pageAssembler.addToContent(new SingleOutlinePanel(getScale(), outline, title, useProxy), info, null)) {
+            while (pageAssembler.addToContent(new PageBlock(outline, title, info, useProxy))) {
                 if (!useProxy) {
                     title = MessageFormat.format(I18n.text("{0} (continued)"), title);
                     useProxy = true;
@@ -401,7 +418,7 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         OutlineInfo infoLeft  = new OutlineInfo(leftOutline, width);
         OutlineInfo infoRight = new OutlineInfo(rightOutline, width);
         boolean     useProxy  = false;
-        while (pageAssembler.addToContent(new DoubleOutlinePanel(getScale(), leftOutline, leftTitle, rightOutline, rightTitle, useProxy), infoLeft, infoRight)) {
+        while (pageAssembler.addToContent(new PageBlock(leftOutline, leftTitle, infoLeft, rightOutline, rightTitle, infoRight, useProxy))) {
             if (!useProxy) {
                 leftTitle = MessageFormat.format(I18n.text("{0} (continued)"), leftTitle);
                 rightTitle = MessageFormat.format(I18n.text("{0} (continued)"), rightTitle);
@@ -787,6 +804,16 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
      * @return {@code true} on success.
      */
     public boolean saveAsPNG(Path path, List<Path> createdPaths) {
+        List<Img> pages = createPageImages();
+        return pages != null && savePageImagesAsPNG(pages, path, createdPaths);
+    }
+
+    /**
+     * Renders each page of the sheet into its own image, at the resolution used for PNG export.
+     *
+     * @return The page images, or {@code null} if they could not be created.
+     */
+    public List<Img> createPageImages() {
         Set<Row> changed = expandAllContainers();
         try {
             int          dpi      = Settings.getInstance().getGeneralSettings().getImageResolution();
@@ -794,16 +821,14 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
             PageFormat   format   = settings.createPageFormat();
             int          width    = (int) (format.getWidth() / 72.0 * dpi);
             int          height   = (int) (format.getHeight() / 72.0 * dpi);
-            Img          buffer   = Img.create(width, height, Transparency.OPAQUE);
+            List<Img>    pages    = new ArrayList<>();
             int          pageNum  = 0;
-            String       name     = PathUtils.getLeafName(path, false);
-
-            path = path.getParent();
 
             setPrinting(true);
 
             while (true) {
-                Graphics2D gc = buffer.getGraphics();
+                Img        buffer = Img.create(width, height, Transparency.OPAQUE);
+                Graphics2D gc     = buffer.getGraphics();
                 if (print(gc, format, pageNum) == NO_SUCH_PAGE) {
                     gc.dispose();
                     break;
@@ -814,17 +839,43 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
                 gc.scale(dpi / 72.0, dpi / 72.0);
                 print(gc, format, pageNum++);
                 gc.dispose();
+                pages.add(buffer);
+            }
+            return pages;
+        } catch (Exception exception) {
+            Log.error(exception);
+            return null;
+        } finally {
+            setPrinting(false);
+            closeContainers(changed);
+        }
+    }
+
+    /**
+     * Encodes page images previously obtained from {@link #createPageImages()}. This does not
+     * touch the sheet, so it may be called from any thread.
+     *
+     * @param pages        The page images.
+     * @param path         The path to save to. Pages after the first have their page number
+     *                     appended to the name.
+     * @param createdPaths The paths that were created.
+     * @return {@code true} on success.
+     */
+    public static boolean savePageImagesAsPNG(List<Img> pages, Path path, List<Path> createdPaths) {
+        try {
+            String name = PathUtils.getLeafName(path, false);
+            path = path.getParent();
+            int pageNum = 0;
+            for (Img page : pages) {
+                pageNum++;
                 Path pngPath = path.resolve(PathUtils.enforceExtension(name + (pageNum > 1 ? " " + pageNum : ""), FileType.PNG.getExtension()));
-                ImageIO.write(buffer, "png", pngPath.toFile());
+                ImageIO.write(page, "png", pngPath.toFile());
                 createdPaths.add(pngPath);
             }
             return true;
         } catch (Exception exception) {
             Log.error(exception);
             return false;
-        } finally {
-            setPrinting(false);
-            closeContainers(changed);
         }
     }
 
@@ -27,10 +27,17 @@ import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.RowIterator;
 import com.trollworks.gcs.utility.SaveType;
+import com.trollworks.gcs.utility.json.JsonArray;
 import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public abstract class CollectedModels extends DataFile {
     public static final String       KEY_ADVANTAGES      = "advantages";
@@ -45,6 +52,8 @@ public abstract class CollectedModels extends DataFile {
     private             OutlineModel mEquipment;
     private             OutlineModel mOtherEquipment;
     private             OutlineModel mNotes;
+    private volatile    boolean      mLoadingModels;
+    private volatile    boolean      mChangedWhileLoading;
 
     protected CollectedModels() {
         mAdvantages = new OutlineModel();
@@ -56,13 +65,96 @@ public abstract class CollectedModels extends DataFile {
         mNotes = new OutlineModel();
     }
 
+    /**
+     * Loads the models. Each model is independent of the others at this point, so they are built
+     * concurrently. Changes made to rows while this happens are reported once, after all of the
+     * models have been loaded.
+     */
     protected void loadModels(JsonMap m, LoadState state) throws IOException {
-        AdvantageList.loadIntoModel(this, m.getArray(KEY_ADVANTAGES), mAdvantages, state);
-        SkillList.loadIntoModel(this, m.getArray(KEY_SKILLS), mSkills, state);
-        SpellList.loadIntoModel(this, m.getArray(KEY_SPELLS), mSpells, state);
-        EquipmentList.loadIntoModel(this, m.getArray(KEY_EQUIPMENT), mEquipment, state);
-        EquipmentList.loadIntoModel(this, m.getArray(KEY_OTHER_EQUIPMENT), mOtherEquipment, state);
-        NoteList.loadIntoModel(this, m.getArray(KEY_NOTES), mNotes, state);
+        JsonArray advantages     = m.getArray(KEY_ADVANTAGES);
+        JsonArray skills         = m.getArray(KEY_SKILLS);
+        JsonArray spells         = m.getArray(KEY_SPELLS);
+        JsonArray equipment      = m.getArray(KEY_EQUIPMENT);
+        JsonArray otherEquipment = m.getArray(KEY_OTHER_EQUIPMENT);
+        JsonArray notes          = m.getArray(KEY_NOTES);
+        List<ModelLoader> loaders = new ArrayList<>();
+        loaders.add(() -> AdvantageList.loadIntoModel(this, advantages, mAdvantages, state));
+        loaders.add(() -> SkillList.loadIntoModel(this, skills, mSkills, state));
+        loaders.add(() -> SpellList.loadIntoModel(this, spells, mSpells, state));
+        loaders.add(() -> EquipmentList.loadIntoModel(this, equipment, mEquipment, state));
+        loaders.add(() -> EquipmentList.loadIntoModel(this, otherEquipment, mOtherEquipment, state));
+        loaders.add(() -> NoteList.loadIntoModel(this, notes, mNotes, state));
+        mLoadingModels = true;
+        mChangedWhileLoading = false;
+        Throwable failure     = null;
+        boolean   interrupted = false;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (ModelLoader loader : loaders) {
+                futures.add(ForkJoinPool.commonPool().submit(() -> {
+                    try {
+                        loader.load();
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }));
+            }
+            // Wait for every loader, even once one has failed or this thread has been
+            // interrupted, as the others are still building rows that consult the loading flag.
+            for (Future<?> future : futures) {
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException exception) {
+                        interrupted = true;
+                    } catch (ExecutionException exception) {
+                        if (failure == null) {
+                            failure = exception.getCause();
+                        }
+                        break;
+                    }
+                }
+            }
+        } finally {
+            mLoadingModels = false;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            if (failure == null) {
+                throw new IOException(new InterruptedException());
+            }
+        }
+        if (failure != null) {
+            if (failure instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) failure).getCause();
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            throw new IOException(failure);
+        }
+        if (mChangedWhileLoading) {
+            notifyOfChange();
+        }
+    }
+
+    /**
+     * Called by rows when they have been changed. While the models are being loaded, the change is
+     * only noted, as the rows are being built on several threads at once.
+     *
+     * @return {@code true} if the change should not be reported now.
+     */
+    public boolean deferRowChange() {
+        if (mLoadingModels) {
+            mChangedWhileLoading = true;
+            return true;
+        }
+        return false;
+    }
+
+    private interface ModelLoader {
+        void load() throws IOException;
     }
 
     protected void saveModels(JsonWriter w, SaveType saveType) throws IOException {
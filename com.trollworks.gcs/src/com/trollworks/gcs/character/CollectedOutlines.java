@@ -132,7 +132,6 @@ public abstract class CollectedOutlines extends Panel implements Runnable, Actio
     }
 
     protected static void resetOutline(Outline outline) {
-        outline.clearProxies();
         for (Column column : outline.getModel().getColumns()) {
             column.setWidth(outline, -1);
         }
@@ -26,12 +26,14 @@ import com.trollworks.gcs.spell.Spell;
 import com.trollworks.gcs.ui.scale.Scales;
 import com.trollworks.gcs.ui.widget.PopupMenu;
 import com.trollworks.gcs.ui.widget.Search;
+import com.trollworks.gcs.ui.widget.SearchSnapshot;
 import com.trollworks.gcs.ui.widget.SearchTarget;
 import com.trollworks.gcs.ui.widget.Toolbar;
 import com.trollworks.gcs.ui.widget.outline.ListOutline;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.Outline;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
+import com.trollworks.gcs.ui.widget.outline.OutlineStateEdit;
 import com.trollworks.gcs.ui.widget.outline.Row;
 import com.trollworks.gcs.ui.widget.outline.RowItemRenderer;
 import com.trollworks.gcs.ui.widget.outline.RowIterator;
@@ -91,24 +93,35 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
     }
 
     @Override
-    public List<Object> search(String filter) {
-        List<Object> list = new ArrayList<>();
-        filter = filter.toLowerCase();
+    public SearchSnapshot createSearchSnapshot() {
+        List<ListRow>     rows     = new ArrayList<>();
+        List<String>      texts    = new ArrayList<>();
         CollectedOutlines outlines = getCollectedOutlines();
-        searchOne(outlines.getAdvantagesOutline(), filter, list);
-        searchOne(outlines.getSkillsOutline(), filter, list);
-        searchOne(outlines.getSpellsOutline(), filter, list);
-        searchOne(outlines.getEquipmentOutline(), filter, list);
-        searchOne(outlines.getOtherEquipmentOutline(), filter, list);
-        searchOne(outlines.getNotesOutline(), filter, list);
-        return list;
+        collectRows(outlines.getAdvantagesOutline(), rows, texts);
+        collectRows(outlines.getSkillsOutline(), rows, texts);
+        collectRows(outlines.getSpellsOutline(), rows, texts);
+        collectRows(outlines.getEquipmentOutline(), rows, texts);
+        collectRows(outlines.getOtherEquipmentOutline(), rows, texts);
+        collectRows(outlines.getNotesOutline(), rows, texts);
+        return (filter, results) -> {
+            String text  = filter.toLowerCase();
+            int    count = rows.size();
+            for (int i = 0; i < count; i++) {
+                if (results.isCancelled()) {
+                    return;
+                }
+                if (texts.get(i).contains(text)) {
+                    results.add(rows.get(i));
+                }
+            }
+        };
     }
 
-    private static void searchOne(ListOutline outline, String text, List<Object> list) {
+    /** The search text is captured here, as the rows themselves may not be touched off-thread. */
+    private static void collectRows(ListOutline outline, List<ListRow> rows, List<String> texts) {
         for (ListRow row : new RowIterator<ListRow>(outline.getModel())) {
-            if (row.contains(text, true)) {
-                list.add(row);
-            }
+            rows.add(row);
+            texts.add(row.getSearchText());
         }
     }
 
@@ -185,7 +198,7 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
     public void addRows(List<Row> rows) {
         CollectedOutlines           outlines    = getCollectedOutlines();
         Map<ListOutline, StateEdit> map         = new HashMap<>();
-        Map<Outline, List<Row>>     selMap      = new HashMap<>();
+        Map<ListOutline, List<Row>> rowMap      = new HashMap<>();
         Map<Outline, List<ListRow>> nameMap     = new HashMap<>();
         ListOutline                 outline     = null;
         String                      addRowsText = I18n.text("Add Rows");
@@ -193,64 +206,61 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
             if (row instanceof Advantage) {
                 outline = outlines.getAdvantagesOutline();
                 if (!map.containsKey(outline)) {
-                    map.put(outline, new StateEdit(outline.getModel(), addRowsText));
+                    map.put(outline, new OutlineStateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Advantage(getDataFile(), (Advantage) row, true);
-                addCompleteRow(outline, row, selMap);
             } else if (row instanceof Technique) {
                 outline = outlines.getSkillsOutline();
                 if (!map.containsKey(outline)) {
-                    map.put(outline, new StateEdit(outline.getModel(), addRowsText));
+                    map.put(outline, new OutlineStateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Technique(getDataFile(), (Technique) row, true);
-                addCompleteRow(outline, row, selMap);
             } else if (row instanceof Skill) {
                 outline = outlines.getSkillsOutline();
                 if (!map.containsKey(outline)) {
-                    map.put(outline, new StateEdit(outline.getModel(), addRowsText));
+                    map.put(outline, new OutlineStateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Skill(getDataFile(), (Skill) row, true, true);
-                addCompleteRow(outline, row, selMap);
             } else if (row instanceof RitualMagicSpell) {
                 outline = outlines.getSpellsOutline();
                 if (!map.containsKey(outline)) {
-                    map.put(outline, new StateEdit(outline.getModel(), addRowsText));
+                    map.put(outline, new OutlineStateEdit(outline.getModel(), addRowsText));
                 }
                 row = new RitualMagicSpell(getDataFile(), (RitualMagicSpell) row, true, true);
-                addCompleteRow(outline, row, selMap);
             } else if (row instanceof Spell) {
                 outline = outlines.getSpellsOutline();
                 if (!map.containsKey(outline)) {
-                    map.put(outline, new StateEdit(outline.getModel(), addRowsText));
+                    map.put(outline, new OutlineStateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Spell(getDataFile(), (Spell) row, true, true);
-                addCompleteRow(outline, row, selMap);
             } else if (row instanceof Equipment) {
                 outline = row.getOwner().getProperty(EquipmentList.KEY_OTHER_ROOT) != null ? outlines.getOtherEquipmentOutline() : outlines.getEquipmentOutline();
                 if (!map.containsKey(outline)) {
-                    map.put(outline, new StateEdit(outline.getModel(), addRowsText));
+                    map.put(outline, new OutlineStateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Equipment(getDataFile(), (Equipment) row, true);
-                addCompleteRow(outline, row, selMap);
             } else if (row instanceof Note) {
                 outline = outlines.getNotesOutline();
                 if (!map.containsKey(outline)) {
-                    map.put(outline, new StateEdit(outline.getModel(), addRowsText));
+                    map.put(outline, new OutlineStateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Note(getDataFile(), (Note) row, true);
-                addCompleteRow(outline, row, selMap);
             } else {
                 row = null;
             }
             //noinspection ConstantConditions
             if (row instanceof ListRow) {
+                rowMap.computeIfAbsent(outline, k -> new ArrayList<>()).add(row);
                 addRowsToBeProcessed(nameMap.computeIfAbsent(outline, k -> new ArrayList<>()), (ListRow) row);
             }
         }
         for (Map.Entry<ListOutline, StateEdit> entry : map.entrySet()) {
             ListOutline  anOutline = entry.getKey();
             OutlineModel model     = anOutline.getModel();
-            model.select(selMap.get(anOutline), false);
+            List<Row>    added     = rowMap.get(anOutline);
+            model.addRows(added, true);
+            anOutline.contentSizeMayHaveChanged();
+            model.select(added, false);
             StateEdit edit = entry.getValue();
             edit.end();
             if (anOutline.getParent() == null) {
@@ -277,24 +287,4 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
             addRowsToBeProcessed(list, (ListRow) row.getChild(i));
         }
     }
-
-    private static void addCompleteRow(Outline outline, Row row, Map<Outline, List<Row>> selMap) {
-        List<Row> selection = selMap.get(outline);
-        addCompleteRow(outline.getModel(), row);
-        outline.contentSizeMayHaveChanged();
-        if (selection == null) {
-            selection = new ArrayList<>();
-            selMap.put(outline, selection);
-        }
-        selection.add(row);
-    }
-
-    private static void addCompleteRow(OutlineModel outlineModel, Row row) {
-        outlineModel.addRow(row);
-        if (row.isOpen() && row.hasChildren()) {
-            for (Row child : row.getChildren()) {
-                addCompleteRow(outlineModel, child);
-            }
-        }
-    }
 }
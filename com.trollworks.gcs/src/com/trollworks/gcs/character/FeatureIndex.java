@@ -0,0 +1,105 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character;
+
+import com.trollworks.gcs.feature.Bonus;
+import com.trollworks.gcs.feature.CostReduction;
+import com.trollworks.gcs.feature.Feature;
+import com.trollworks.gcs.feature.SkillBonus;
+import com.trollworks.gcs.feature.SkillPointBonus;
+import com.trollworks.gcs.feature.SpellBonus;
+import com.trollworks.gcs.feature.SpellPointBonus;
+import com.trollworks.gcs.feature.WeaponDamageBonus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The features of a character, organized by key and type so that bonus lookups don't have to walk
+ * and filter the full feature list each time. Built once per feature pass.
+ */
+class FeatureIndex {
+    private Map<String, Entry> mEntries;
+    private Map<String, Entry> mAliases;
+
+    /** @param map The feature map, with its keys in lowercase. */
+    FeatureIndex(Map<String, ? extends List<Feature>> map) {
+        mEntries = new HashMap<>();
+        for (Map.Entry<String, ? extends List<Feature>> one : map.entrySet()) {
+            mEntries.put(one.getKey(), new Entry(one.getValue()));
+        }
+        mAliases = new HashMap<>();
+    }
+
+    /**
+     * @param id The feature ID to look up, in any case.
+     * @return The entry for the ID. Never {@code null}.
+     */
+    Entry get(String id) {
+        // Most lookups are repeated with the same ID string, so remember the result for it rather
+        // than lowercasing it again each time.
+        Entry entry = mAliases.get(id);
+        if (entry == null) {
+            entry = mEntries.getOrDefault(id.toLowerCase(), Entry.NONE);
+            mAliases.put(id, entry);
+        }
+        return entry;
+    }
+
+    /** The features for a single key. */
+    static class Entry {
+        static final Entry NONE = new Entry(Collections.emptyList());
+
+        List<Bonus>             mBonuses;
+        int                     mIntegerTotal;
+        double                  mDoubleTotal;
+        int                     mCostReduction;
+        List<SkillBonus>        mSkillBonuses;
+        List<SkillPointBonus>   mSkillPointBonuses;
+        List<SpellBonus>        mSpellBonuses;
+        List<SpellPointBonus>   mSpellPointBonuses;
+        List<WeaponDamageBonus> mWeaponDamageBonuses;
+
+        Entry(List<Feature> features) {
+            mBonuses = new ArrayList<>();
+            mSkillBonuses = new ArrayList<>();
+            mSkillPointBonuses = new ArrayList<>();
+            mSpellBonuses = new ArrayList<>();
+            mSpellPointBonuses = new ArrayList<>();
+            mWeaponDamageBonuses = new ArrayList<>();
+            for (Feature feature : features) {
+                if (feature instanceof CostReduction) {
+                    mCostReduction += ((CostReduction) feature).getPercentage();
+                } else if (feature instanceof WeaponDamageBonus) {
+                    mWeaponDamageBonuses.add((WeaponDamageBonus) feature);
+                } else if (feature instanceof Bonus) {
+                    Bonus bonus = (Bonus) feature;
+                    mBonuses.add(bonus);
+                    mIntegerTotal += bonus.getAmount().getIntegerAdjustedAmount();
+                    mDoubleTotal += bonus.getAmount().getAdjustedAmount();
+                    if (bonus instanceof SkillBonus) {
+                        mSkillBonuses.add((SkillBonus) bonus);
+                    } else if (bonus instanceof SkillPointBonus) {
+                        mSkillPointBonuses.add((SkillPointBonus) bonus);
+                    } else if (bonus instanceof SpellBonus) {
+                        mSpellBonuses.add((SpellBonus) bonus);
+                    } else if (bonus instanceof SpellPointBonus) {
+                        mSpellPointBonuses.add((SpellPointBonus) bonus);
+                    }
+                }
+            }
+        }
+    }
+}
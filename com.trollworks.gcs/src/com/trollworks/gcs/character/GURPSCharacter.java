@@ -16,14 +16,13 @@ import com.trollworks.gcs.advantage.AdvantageContainerType;
 import com.trollworks.gcs.attribute.Attribute;
 import com.trollworks.gcs.attribute.AttributeDef;
 import com.trollworks.gcs.attribute.AttributeType;
-import com.trollworks.gcs.attribute.PoolThreshold;
+import com.trollworks.gcs.attribute.AttributeValues;
 import com.trollworks.gcs.attribute.ThresholdOps;
 import com.trollworks.gcs.datafile.LoadState;
 import com.trollworks.gcs.equipment.Equipment;
 import com.trollworks.gcs.expression.VariableResolver;
 import com.trollworks.gcs.feature.AttributeBonusLimitation;
 import com.trollworks.gcs.feature.Bonus;
-import com.trollworks.gcs.feature.CostReduction;
 import com.trollworks.gcs.feature.Feature;
 import com.trollworks.gcs.feature.LeveledAmount;
 import com.trollworks.gcs.feature.SkillBonus;
@@ -56,6 +55,7 @@ import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 import com.trollworks.gcs.utility.text.Numbers;
 import com.trollworks.gcs.utility.undo.StdUndoManager;
+import com.trollworks.gcs.utility.units.WeightAccumulator;
 import com.trollworks.gcs.utility.units.WeightUnits;
 import com.trollworks.gcs.utility.units.WeightValue;
 
@@ -99,8 +99,10 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
     private long                                mModifiedOn;
     private long                                mCreatedOn;
     private HashMap<String, ArrayList<Feature>> mFeatureMap;
+    private FeatureIndex                        mFeatureIndex;
     private JsonMap                             mThirdPartyData;
     private Map<String, Attribute>              mAttributes;
+    private AttributeValues                     mAttributeValues;
     private int                                 mLiftingStrengthBonus;
     private int                                 mStrikingStrengthBonus;
     private int                                 mDodgeBonus;
@@ -120,6 +122,14 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
     private int                                 mCachedSkillPoints;
     private int                                 mCachedSpellPoints;
     private int                                 mCachedRacePoints;
+    private RecalculationGraph                  mRecalculationGraph = new RecalculationGraph(this);
+    private boolean                             mRecalculating;
+    private long                                mRecalculationEpoch;
+    private boolean                             mRowChanging;
+    private Map<String, List<Skill>>            mSkillsByName;
+    private Map<String, List<Skill>>            mSkillsBySpecialization;
+    private Map<String, Advantage>              mAdvantagesByName;
+    private boolean                             mEquipmentChanged   = true;
 
     /** Creates a new character with only default values set. */
     public GURPSCharacter() {
@@ -143,11 +153,13 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         mVariableResolverExclusions = new HashSet<>();
         mSheetSettings = new SheetSettings(this);
         mFeatureMap = new HashMap<>();
+        mFeatureIndex = new FeatureIndex(mFeatureMap);
         mTotalPoints = Settings.getInstance().getGeneralSettings().getInitialPoints();
         mAttributes = new HashMap<>();
         for (String attrID : mSheetSettings.getAttributes().keySet()) {
             mAttributes.put(attrID, new Attribute(attrID));
         }
+        mAttributeValues = null;
         mProfile = new Profile(this, full);
         mCachedWeightCarried = new WeightValue(Fixed6.ZERO, mSheetSettings.defaultWeightUnits());
         mCachedWeightCarriedForSkills = new WeightValue(Fixed6.ZERO, mSheetSettings.defaultWeightUnits());
@@ -159,12 +171,55 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         return mAttributes;
     }
 
+    /** @return The values of the attributes as of the current recalculation epoch. */
+    public AttributeValues getAttributeValues() {
+        if (mAttributeValues == null || !mAttributeValues.isCurrent()) {
+            mAttributeValues = new AttributeValues(this);
+        }
+        return mAttributeValues;
+    }
+
     @Override
     public void notifyOfChange() {
+        mRecalculationEpoch++;
+        if (!mRecalculating) {
+            invalidateIndexes();
+            if (!mRowChanging) {
+                mRecalculationGraph.markAllDirty();
+                mEquipmentChanged = true;
+            }
+        }
         setModifiedOn(System.currentTimeMillis() / FieldFactory.TIMESTAMP_FACTOR);
         super.notifyOfChange();
     }
 
+    /**
+     * Called when a row belonging to this character has been modified, so that the next call to
+     * {@link #recalculate()} can limit its work to what the change may have affected.
+     *
+     * @param row The row that was modified.
+     */
+    public void notifyOfRowChange(ListRow row) {
+        if (!mRecalculating) {
+            if (row instanceof Skill || row instanceof Spell) {
+                mRecalculationGraph.markDirty(row);
+            } else {
+                mRecalculationGraph.markAllDirty();
+            }
+            if (!(row instanceof Equipment)) {
+                // Equipment tracks changes to itself, but not to anything else its totals use,
+                // such as its modifiers
+                mEquipmentChanged = true;
+            }
+        }
+        mRowChanging = true;
+        try {
+            notifyOfChange();
+        } finally {
+            mRowChanging = false;
+        }
+    }
+
     @Override
     public FileType getFileType() {
         return FileType.SHEET;
@@ -176,24 +231,33 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
     }
 
     public void recalculate() {
+        invalidateIndexes();
         calculateWeightAndWealthCarried(false);
         calculateWealthNotCarried(false);
-        updateSkills();
-        updateSpells();
-        int     maxTries = 5;
-        boolean changed;
-        do {
-            // Unfortunately, there are what amount to circular references in the GURPS logic, so
-            // we need to potentially run though this process a few times until things stabilize.
-            // To avoid a potential endless loop, though, we cap the iterations.
-            processFeaturesAndPrereqs();
-            changed = updateSkills();
-            changed |= updateSpells();
-        } while (changed && --maxTries > 0);
-        calculateAttributePoints();
-        calculateAdvantagePoints();
-        calculateSkillPoints();
-        calculateSpellPoints();
+        mEquipmentChanged = false;
+        mRecalculating = true;
+        try {
+            processFeatures();
+            // Only the skill & spell levels that could have been affected by the changes made since
+            // the last recalculation are updated, with each level's dependencies going first.
+            mRecalculationGraph.update(mFeatureMap);
+            processPrerequisites();
+            calculateAttributePoints();
+            calculateAdvantagePoints();
+            calculateSkillPoints();
+            calculateSpellPoints();
+        } finally {
+            mRecalculating = false;
+            mRecalculationEpoch++;
+        }
+    }
+
+    /**
+     * @return A counter that changes whenever the character is modified or recalculated, so that
+     *         values derived from the character can be cached until the next such change.
+     */
+    public long getRecalculationEpoch() {
+        return mRecalculationEpoch;
     }
 
     @Override
@@ -229,6 +293,7 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
                 }
             }
         }
+        mAttributeValues = null;
         mTotalPoints = m.getInt(KEY_TOTAL_POINTS);
         loadModels(m, state);
         // Loop through the skills and update their levels. It is necessary to do this here and not
@@ -284,26 +349,6 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         }
     }
 
-    public boolean updateSkills() {
-        boolean changed = false;
-        for (Skill skill : getSkillsIterator()) {
-            if (skill.updateLevel(true)) {
-                changed = true;
-            }
-        }
-        return changed;
-    }
-
-    private boolean updateSpells() {
-        boolean changed = false;
-        for (Spell spell : getSpellsIterator()) {
-            if (spell.updateLevel(true)) {
-                changed = true;
-            }
-        }
-        return changed;
-    }
-
     /** @return The current lifting strength bonus from features. */
     public int getLiftingStrengthBonus() {
         return mLiftingStrengthBonus;
@@ -642,33 +687,41 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      *               the previous values.
      */
     public void calculateWeightAndWealthCarried(boolean notify) {
-        WeightValue savedWeight          = new WeightValue(mCachedWeightCarried);
-        WeightValue savedWeightForSkills = new WeightValue(mCachedWeightCarriedForSkills);
-        Fixed6      savedWealth          = mCachedWealthCarried;
-        WeightUnits defaultWeightUnits   = mSheetSettings.defaultWeightUnits();
-        mCachedWeightCarried = new WeightValue(Fixed6.ZERO, defaultWeightUnits);
-        mCachedWeightCarriedForSkills = new WeightValue(Fixed6.ZERO, defaultWeightUnits);
-        mCachedWealthCarried = Fixed6.ZERO;
+        WeightUnits       defaultWeightUnits = mSheetSettings.defaultWeightUnits();
+        boolean           useSimpleMetric    = mSheetSettings.useSimpleMetricConversions();
+        boolean           toMetric           = defaultWeightUnits.isMetric();
+        WeightAccumulator weight             = new WeightAccumulator(defaultWeightUnits);
+        WeightAccumulator weightForSkills    = new WeightAccumulator(defaultWeightUnits);
+        long              wealth             = 0;
         for (Row one : getEquipmentModel().getTopLevelRows()) {
             Equipment equipment = (Equipment) one;
-            equipment.update();
-            WeightValue weight = new WeightValue(equipment.getExtendedWeight(false));
-            if (mSheetSettings.useSimpleMetricConversions()) {
-                weight = defaultWeightUnits.isMetric() ? convertToGurpsMetric(weight) : convertFromGurpsMetric(weight);
-            }
-            mCachedWeightCarried.add(weight);
-            mCachedWealthCarried = mCachedWealthCarried.add(equipment.getExtendedValue());
-
-            weight = new WeightValue(equipment.getExtendedWeight(true));
-            if (mSheetSettings.useSimpleMetricConversions()) {
-                weight = defaultWeightUnits.isMetric() ? convertToGurpsMetric(weight) : convertFromGurpsMetric(weight);
+            equipment.updateExtendedValues(mEquipmentChanged);
+            WeightValue extended          = equipment.getExtendedWeight(false);
+            WeightValue extendedForSkills = equipment.getExtendedWeight(true);
+            if (useSimpleMetric) {
+                weight.addSimpleMetric(extended.getUnits(), extended.getValue().getRawValue(), toMetric);
+                weightForSkills.addSimpleMetric(extendedForSkills.getUnits(), extendedForSkills.getValue().getRawValue(), toMetric);
+            } else {
+                weight.add(extended.getUnits(), extended.getValue().getRawValue());
+                weightForSkills.add(extendedForSkills.getUnits(), extendedForSkills.getValue().getRawValue());
             }
-            mCachedWeightCarriedForSkills.add(weight);
+            wealth += equipment.getExtendedValue().getRawValue();
         }
-        if (notify) {
-            if (!savedWeight.equals(mCachedWeightCarried) || !savedWeightForSkills.equals(mCachedWeightCarriedForSkills) || !mCachedWealthCarried.equals(savedWealth)) {
-                notifyOfChange();
-            }
+        boolean changed = false;
+        if (!weight.isSameAs(mCachedWeightCarried)) {
+            mCachedWeightCarried = weight.toWeightValue();
+            changed = true;
+        }
+        if (!weightForSkills.isSameAs(mCachedWeightCarriedForSkills)) {
+            mCachedWeightCarriedForSkills = weightForSkills.toWeightValue();
+            changed = true;
+        }
+        if (mCachedWealthCarried == null || mCachedWealthCarried.getRawValue() != wealth) {
+            mCachedWealthCarried = Fixed6.fromRawValue(wealth);
+            changed = true;
+        }
+        if (notify && changed) {
+            notifyOfChange();
         }
     }
 
@@ -679,15 +732,15 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      *               the previous values.
      */
     public void calculateWealthNotCarried(boolean notify) {
-        Fixed6 savedWealth = mCachedWealthNotCarried;
-        mCachedWealthNotCarried = Fixed6.ZERO;
+        long wealth = 0;
         for (Row one : getOtherEquipmentModel().getTopLevelRows()) {
             Equipment equipment = (Equipment) one;
-            equipment.update();
-            mCachedWealthNotCarried = mCachedWealthNotCarried.add(equipment.getExtendedValue());
+            equipment.updateExtendedValues(mEquipmentChanged);
+            wealth += equipment.getExtendedValue().getRawValue();
         }
-        if (notify) {
-            if (!mCachedWealthNotCarried.equals(savedWealth)) {
+        if (mCachedWealthNotCarried == null || mCachedWealthNotCarried.getRawValue() != wealth) {
+            mCachedWealthNotCarried = Fixed6.fromRawValue(wealth);
+            if (notify) {
                 notifyOfChange();
             }
         }
@@ -839,12 +892,13 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The advantage, if present, or {@code null}.
      */
     public Advantage getAdvantageNamed(String name) {
-        for (Advantage advantage : getAdvantagesIterator(false)) {
-            if (advantage.getName().equals(name)) {
-                return advantage;
+        if (mAdvantagesByName == null) {
+            mAdvantagesByName = new HashMap<>();
+            for (Advantage advantage : getAdvantagesIterator(false)) {
+                mAdvantagesByName.putIfAbsent(advantage.getName(), advantage);
             }
         }
-        return null;
+        return mAdvantagesByName.get(name);
     }
 
     /**
@@ -869,17 +923,16 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The skill if it is present, or {@code null} if its not.
      */
     public List<Skill> getSkillNamed(String name, String specialization, boolean requirePoints, Set<String> excludes) {
-        List<Skill> skills              = new ArrayList<>();
-        boolean     checkSpecialization = specialization != null && !specialization.isEmpty();
-        for (Skill skill : getSkillsIterator()) {
-            if (!skill.canHaveChildren()) {
+        List<Skill> skills = new ArrayList<>();
+        if (name == null) {
+            return skills;
+        }
+        List<Skill> candidates = specialization != null && !specialization.isEmpty() ? getSkillsIndexedBy(true).get(specializationKey(name, specialization)) : getSkillsWithName(name);
+        if (candidates != null) {
+            for (Skill skill : candidates) {
                 if (excludes == null || !excludes.contains(skill.toString())) {
                     if (!requirePoints || skill instanceof Technique || skill.getPoints() > 0) {
-                        if (skill.getName().equalsIgnoreCase(name)) {
-                            if (!checkSpecialization || skill.getSpecialization().equalsIgnoreCase(specialization)) {
-                                skills.add(skill);
-                            }
-                        }
+                        skills.add(skill);
                     }
                 }
             }
@@ -887,6 +940,46 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         return skills;
     }
 
+    /**
+     * @param name The name to look for.
+     * @return The non-container {@link Skill}s with the specified name, ignoring case, in list
+     *         order. May be {@code null} if there are none.
+     */
+    List<Skill> getSkillsWithName(String name) {
+        return name != null ? getSkillsIndexedBy(false).get(name.toLowerCase()) : null;
+    }
+
+    private Map<String, List<Skill>> getSkillsIndexedBy(boolean specialization) {
+        if (mSkillsByName == null) {
+            Map<String, List<Skill>> byName           = new HashMap<>();
+            Map<String, List<Skill>> bySpecialization = new HashMap<>();
+            for (Skill skill : getSkillsIterator()) {
+                if (!skill.canHaveChildren()) {
+                    byName.computeIfAbsent(skill.getName().toLowerCase(), k -> new ArrayList<>()).add(skill);
+                    bySpecialization.computeIfAbsent(specializationKey(skill.getName(), skill.getSpecialization()), k -> new ArrayList<>()).add(skill);
+                }
+            }
+            mSkillsByName = byName;
+            mSkillsBySpecialization = bySpecialization;
+        }
+        return specialization ? mSkillsBySpecialization : mSkillsByName;
+    }
+
+    private static String specializationKey(String name, String specialization) {
+        return (name + '\u0000' + specialization).toLowerCase();
+    }
+
+    /**
+     * Discards the name lookup tables, which are rebuilt on demand. Rows are added, removed and
+     * renamed only outside of recalculation, and all such changes notify the character, so the
+     * tables stay valid for the whole of a recalculation.
+     */
+    private void invalidateIndexes() {
+        mSkillsByName = null;
+        mSkillsBySpecialization = null;
+        mAdvantagesByName = null;
+    }
+
     /**
      * Searches the character's current {@link Skill} list for the {@link Skill} with the best level
      * that matches the name.
@@ -912,11 +1005,6 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
         return best;
     }
 
-    public void processFeaturesAndPrereqs() {
-        processFeatures();
-        processPrerequisites();
-    }
-
     private void processFeatures() {
         HashMap<String, ArrayList<Feature>> map = new HashMap<>();
         buildFeatureMap(map, getAdvantagesIterator(false));
@@ -996,31 +1084,45 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
     }
 
     private void processPrerequisites(Iterator<? extends ListRow> iterator) {
-        String        prefix  = "- ";
-        StringBuilder builder = new StringBuilder();
         while (iterator.hasNext()) {
-            ListRow row = iterator.next();
-            builder.setLength(0);
-            boolean satisfied = row.getPrereqs().satisfied(this, row, builder, prefix);
-            if (satisfied && row instanceof Technique) {
-                satisfied = ((Technique) row).satisfied(builder, prefix);
-            }
-            if (satisfied && row instanceof RitualMagicSpell) {
-                satisfied = ((RitualMagicSpell) row).satisfied(builder, prefix);
-            }
+            ListRow row       = iterator.next();
+            boolean satisfied = prerequisitesSatisfied(row, null, null);
             if (row.isSatisfied() != satisfied) {
                 row.setSatisfied(satisfied);
             }
             if (!satisfied) {
-                builder.insert(0, I18n.text("Prerequisites have not been met:"));
-                row.setReasonForUnsatisfied(builder.toString());
+                // The explanation is only generated if someone actually asks for it
+                row.setReasonForUnsatisfied(null);
             }
         }
     }
 
+    private boolean prerequisitesSatisfied(ListRow row, StringBuilder builder, String prefix) {
+        boolean satisfied = row.getPrereqs().satisfied(this, row, builder, prefix);
+        if (satisfied && row instanceof Technique) {
+            satisfied = ((Technique) row).satisfied(builder, prefix);
+        }
+        if (satisfied && row instanceof RitualMagicSpell) {
+            satisfied = ((RitualMagicSpell) row).satisfied(builder, prefix);
+        }
+        return satisfied;
+    }
+
+    /**
+     * @param row The row to explain.
+     * @return A description of the prerequisites of the row that have not been met.
+     */
+    public String explainUnsatisfiedPrerequisites(ListRow row) {
+        StringBuilder builder = new StringBuilder();
+        prerequisitesSatisfied(row, builder, "- ");
+        builder.insert(0, I18n.text("Prerequisites have not been met:"));
+        return builder.toString();
+    }
+
     /** @param map The new feature map. */
     public void setFeatureMap(HashMap<String, ArrayList<Feature>> map) {
         mFeatureMap = map;
+        mFeatureIndex = new FeatureIndex(map);
         String strPrefix = Attribute.ID_ATTR_PREFIX + "st.";
         setLiftingStrengthBonus(getIntegerBonusFor(strPrefix + AttributeBonusLimitation.LIFTING_ONLY.name()));
         setStrikingStrengthBonus(getIntegerBonusFor(strPrefix + AttributeBonusLimitation.STRIKING_ONLY.name()));
@@ -1047,16 +1149,7 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The cost reduction, as a percentage.
      */
     public int getCostReductionFor(String id) {
-        int           total = 0;
-        List<Feature> list  = mFeatureMap.get(id.toLowerCase());
-
-        if (list != null) {
-            for (Feature feature : list) {
-                if (feature instanceof CostReduction) {
-                    total += ((CostReduction) feature).getPercentage();
-                }
-            }
-        }
+        int total = mFeatureIndex.get(id).mCostReduction;
         if (total > 80) {
             total = 80;
         }
@@ -1077,18 +1170,13 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The bonus.
      */
     public int getIntegerBonusFor(String id, StringBuilder toolTip) {
-        int           total = 0;
-        List<Feature> list  = mFeatureMap.get(id.toLowerCase());
-        if (list != null) {
-            for (Feature feature : list) {
-                if (feature instanceof Bonus && !(feature instanceof WeaponDamageBonus)) {
-                    Bonus bonus = (Bonus) feature;
-                    total += bonus.getAmount().getIntegerAdjustedAmount();
-                    bonus.addToToolTip(toolTip);
-                }
+        FeatureIndex.Entry entry = mFeatureIndex.get(id);
+        if (toolTip != null) {
+            for (Bonus bonus : entry.mBonuses) {
+                bonus.addToToolTip(toolTip);
             }
         }
-        return total;
+        return entry.mIntegerTotal;
     }
 
     /**
@@ -1110,20 +1198,10 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
             }
         }
         if (rsl != Integer.MIN_VALUE) {
-            List<Feature> list = mFeatureMap.get(id.toLowerCase());
-            if (list != null) {
-                for (Feature feature : list) {
-                    if (feature instanceof WeaponDamageBonus) {
-                        WeaponDamageBonus bonus = (WeaponDamageBonus) feature;
-                        if (bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(specializationQualifier) && bonus.getRelativeLevelCriteria().matches(rsl) && bonus.matchesCategories(categoriesQualifier)) {
-                            bonuses.add(bonus);
-                            LeveledAmount amount = bonus.getAmount();
-                            int           level  = amount.getLevel();
-                            amount.setLevel(dieCount);
-                            bonus.addToToolTip(toolTip);
-                            amount.setLevel(level);
-                        }
-                    }
+            for (WeaponDamageBonus bonus : mFeatureIndex.get(id).mWeaponDamageBonuses) {
+                if (bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(specializationQualifier) && bonus.getRelativeLevelCriteria().matches(rsl) && bonus.matchesCategories(categoriesQualifier)) {
+                    bonuses.add(bonus);
+                    addToToolTip(bonus, dieCount, toolTip);
                 }
             }
         }
@@ -1141,25 +1219,25 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      */
     public List<WeaponDamageBonus> getNamedWeaponDamageBonusesFor(String id, String nameQualifier, String usageQualifier, Set<String> categoriesQualifier, int dieCount, StringBuilder toolTip) {
         List<WeaponDamageBonus> bonuses = new ArrayList<>();
-        List<Feature>           list    = mFeatureMap.get(id.toLowerCase());
-        if (list != null) {
-            for (Feature feature : list) {
-                if (feature instanceof WeaponDamageBonus) {
-                    WeaponDamageBonus bonus = (WeaponDamageBonus) feature;
-                    if (bonus.getWeaponSelectionType() == WeaponSelectionType.WEAPONS_WITH_NAME && bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(usageQualifier) && bonus.matchesCategories(categoriesQualifier)) {
-                        bonuses.add(bonus);
-                        LeveledAmount amount = bonus.getAmount();
-                        int           level  = amount.getLevel();
-                        amount.setLevel(dieCount);
-                        bonus.addToToolTip(toolTip);
-                        amount.setLevel(level);
-                    }
-                }
+        for (WeaponDamageBonus bonus : mFeatureIndex.get(id).mWeaponDamageBonuses) {
+            if (bonus.getWeaponSelectionType() == WeaponSelectionType.WEAPONS_WITH_NAME && bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(usageQualifier) && bonus.matchesCategories(categoriesQualifier)) {
+                bonuses.add(bonus);
+                addToToolTip(bonus, dieCount, toolTip);
             }
         }
         return bonuses;
     }
 
+    private static void addToToolTip(WeaponDamageBonus bonus, int dieCount, StringBuilder toolTip) {
+        if (toolTip != null) {
+            LeveledAmount amount = bonus.getAmount();
+            int           level  = amount.getLevel();
+            amount.setLevel(dieCount);
+            bonus.addToToolTip(toolTip);
+            amount.setLevel(level);
+        }
+    }
+
     /**
      * @param id                  The feature ID to search for.
      * @param nameQualifier       The name qualifier.
@@ -1169,16 +1247,10 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      */
     public List<SkillBonus> getNamedWeaponSkillBonusesFor(String id, String nameQualifier, String usageQualifier, Set<String> categoriesQualifier, StringBuilder toolTip) {
         List<SkillBonus> bonuses = new ArrayList<>();
-        List<Feature>    list    = mFeatureMap.get(id.toLowerCase());
-        if (list != null) {
-            for (Feature feature : list) {
-                if (feature instanceof SkillBonus) {
-                    SkillBonus bonus = (SkillBonus) feature;
-                    if (bonus.getSkillSelectionType() == SkillSelectionType.WEAPONS_WITH_NAME && bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(usageQualifier) && bonus.matchesCategories(categoriesQualifier)) {
-                        bonuses.add(bonus);
-                        bonus.addToToolTip(toolTip);
-                    }
-                }
+        for (SkillBonus bonus : mFeatureIndex.get(id).mSkillBonuses) {
+            if (bonus.getSkillSelectionType() == SkillSelectionType.WEAPONS_WITH_NAME && bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(usageQualifier) && bonus.matchesCategories(categoriesQualifier)) {
+                bonuses.add(bonus);
+                bonus.addToToolTip(toolTip);
             }
         }
         return bonuses;
@@ -1204,17 +1276,11 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The bonus.
      */
     public int getSkillComparedIntegerBonusFor(String id, String nameQualifier, String specializationQualifier, Set<String> categoryQualifier, StringBuilder toolTip) {
-        int           total = 0;
-        List<Feature> list  = mFeatureMap.get(id.toLowerCase());
-        if (list != null) {
-            for (Feature feature : list) {
-                if (feature instanceof SkillBonus) {
-                    SkillBonus bonus = (SkillBonus) feature;
-                    if (bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(specializationQualifier) && bonus.matchesCategories(categoryQualifier)) {
-                        total += bonus.getAmount().getIntegerAdjustedAmount();
-                        bonus.addToToolTip(toolTip);
-                    }
-                }
+        int total = 0;
+        for (SkillBonus bonus : mFeatureIndex.get(id).mSkillBonuses) {
+            if (bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(specializationQualifier) && bonus.matchesCategories(categoryQualifier)) {
+                total += bonus.getAmount().getIntegerAdjustedAmount();
+                bonus.addToToolTip(toolTip);
             }
         }
         return total;
@@ -1240,17 +1306,11 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The point bonus.
      */
     public int getSkillPointComparedIntegerBonusFor(String id, String nameQualifier, String specializationQualifier, Set<String> categoryQualifier, StringBuilder toolTip) {
-        int           total = 0;
-        List<Feature> list  = mFeatureMap.get(id.toLowerCase());
-        if (list != null) {
-            for (Feature feature : list) {
-                if (feature instanceof SkillPointBonus) {
-                    SkillPointBonus bonus = (SkillPointBonus) feature;
-                    if (bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(specializationQualifier) && bonus.matchesCategories(categoryQualifier)) {
-                        total += bonus.getAmount().getIntegerAdjustedAmount();
-                        bonus.addToToolTip(toolTip);
-                    }
-                }
+        int total = 0;
+        for (SkillPointBonus bonus : mFeatureIndex.get(id).mSkillPointBonuses) {
+            if (bonus.getNameCriteria().matches(nameQualifier) && bonus.getSpecializationCriteria().matches(specializationQualifier) && bonus.matchesCategories(categoryQualifier)) {
+                total += bonus.getAmount().getIntegerAdjustedAmount();
+                bonus.addToToolTip(toolTip);
             }
         }
         return total;
@@ -1263,17 +1323,11 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The bonus.
      */
     public int getSpellComparedIntegerBonusFor(String id, String qualifier, Set<String> categories, StringBuilder toolTip) {
-        int           total = 0;
-        List<Feature> list  = mFeatureMap.get(id.toLowerCase());
-        if (list != null) {
-            for (Feature feature : list) {
-                if (feature instanceof SpellBonus) {
-                    SpellBonus bonus = (SpellBonus) feature;
-                    if (bonus.getNameCriteria().matches(qualifier) && bonus.matchesCategories(categories)) {
-                        total += bonus.getAmount().getIntegerAdjustedAmount();
-                        bonus.addToToolTip(toolTip);
-                    }
-                }
+        int total = 0;
+        for (SpellBonus bonus : mFeatureIndex.get(id).mSpellBonuses) {
+            if (bonus.getNameCriteria().matches(qualifier) && bonus.matchesCategories(categories)) {
+                total += bonus.getAmount().getIntegerAdjustedAmount();
+                bonus.addToToolTip(toolTip);
             }
         }
         return total;
@@ -1297,17 +1351,11 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The point bonus.
      */
     public int getSpellPointComparedIntegerBonusFor(String id, String qualifier, Set<String> categories, StringBuilder toolTip) {
-        int           total = 0;
-        List<Feature> list  = mFeatureMap.get(id.toLowerCase());
-        if (list != null) {
-            for (Feature feature : list) {
-                if (feature instanceof SpellPointBonus) {
-                    SpellPointBonus bonus = (SpellPointBonus) feature;
-                    if (bonus.getNameCriteria().matches(qualifier) && bonus.matchesCategories(categories)) {
-                        total += bonus.getAmount().getIntegerAdjustedAmount();
-                        bonus.addToToolTip(toolTip);
-                    }
-                }
+        int total = 0;
+        for (SpellPointBonus bonus : mFeatureIndex.get(id).mSpellPointBonuses) {
+            if (bonus.getNameCriteria().matches(qualifier) && bonus.matchesCategories(categories)) {
+                total += bonus.getAmount().getIntegerAdjustedAmount();
+                bonus.addToToolTip(toolTip);
             }
         }
         return total;
@@ -1318,16 +1366,7 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
      * @return The bonus.
      */
     public double getDoubleBonusFor(String id) {
-        double        total = 0;
-        List<Feature> list  = mFeatureMap.get(id.toLowerCase());
-        if (list != null) {
-            for (Feature feature : list) {
-                if (feature instanceof Bonus && !(feature instanceof WeaponDamageBonus)) {
-                    total += ((Bonus) feature).getAmount().getAdjustedAmount();
-                }
-            }
-        }
-        return total;
+        return mFeatureIndex.get(id).mDoubleTotal;
     }
 
     /**
@@ -1346,60 +1385,53 @@ public class GURPSCharacter extends CollectedModels implements VariableResolver
     }
 
     public boolean isThresholdOpMet(ThresholdOps op) {
-        for (Attribute attr : mAttributes.values()) {
-            PoolThreshold threshold = attr.getCurrentThreshold(this);
-            if (threshold != null && threshold.getOps().contains(op)) {
-                return true;
-            }
-        }
-        return false;
+        return getAttributeValues().countThresholdOpMet(op) > 0;
     }
 
     public int countThresholdOpMet(ThresholdOps op) {
-        int total = 0;
-        for (Attribute attr : mAttributes.values()) {
-            PoolThreshold threshold = attr.getCurrentThreshold(this);
-            if (threshold != null && threshold.getOps().contains(op)) {
-                total++;
-            }
-        }
-        return total;
+        return getAttributeValues().countThresholdOpMet(op);
     }
 
     @Override
     public String resolveVariable(String variableName) {
+        double value = resolveNumericVariable(variableName);
+        return Double.isNaN(value) ? "" : Numbers.trimTrailingZeroes(String.valueOf(value), false);
+    }
+
+    @Override
+    public double resolveNumericVariable(String variableName) {
         if (mVariableResolverExclusions.contains(variableName)) {
             Log.error("attempt to resolve variable via itself: $" + variableName);
-            return "";
+            return Double.NaN;
         }
         mVariableResolverExclusions.add(variableName);
         try {
             if ("sm".equals(variableName)) {
-                return String.valueOf(getProfile().getSizeModifier());
+                return getProfile().getSizeModifier();
             }
             String[]  parts = variableName.split("\\.", 2);
             Attribute attr  = getAttributes().get(parts[0]);
             if (attr == null) {
                 Log.error("no such variable: $" + variableName);
-                return "";
+                return Double.NaN;
             }
             AttributeDef def = attr.getAttrDef(this);
             if (def == null) {
                 Log.error("no such variable definition: $" + variableName);
-                return "";
+                return Double.NaN;
             }
             if (def.getType() == AttributeType.POOL && parts.length > 1) {
                 switch (parts[1]) {
                 case "current":
-                    return String.valueOf(attr.getCurrentIntValue(this));
+                    return attr.getCurrentIntValue(this);
                 case "maximum":
-                    return String.valueOf(attr.getIntValue(this));
+                    return attr.getIntValue(this);
                 default:
                     Log.error("no such variable: $" + variableName);
-                    return "";
+                    return Double.NaN;
                 }
             }
-            return String.valueOf(attr.getDoubleValue(this));
+            return attr.getDoubleValue(this);
         } finally {
             mVariableResolverExclusions.remove(variableName);
         }
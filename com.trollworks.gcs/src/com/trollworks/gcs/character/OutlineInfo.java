@@ -13,17 +13,21 @@ package com.trollworks.gcs.character;
 
 import com.trollworks.gcs.ui.border.TitledBorder;
 import com.trollworks.gcs.ui.scale.Scale;
+import com.trollworks.gcs.ui.widget.outline.Column;
 import com.trollworks.gcs.ui.widget.outline.ColumnUtils;
 import com.trollworks.gcs.ui.widget.outline.Outline;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
 
 import java.awt.Insets;
+import java.util.Arrays;
+import java.util.List;
 
 /** Holds information about the outline relevant for page layout. */
 public class OutlineInfo {
     private int   mRowIndex;
     private int[] mHeights;
+    private int[] mColumnWidths;
     private int   mOverheadHeight;
     private int   mMinimumHeight;
 
@@ -54,6 +58,13 @@ public class OutlineInfo {
             }
         }
 
+        List<Column> columns = outlineModel.getColumns();
+        mColumnWidths = new int[columns.size()];
+        for (int i = 0; i < mColumnWidths.length; i++) {
+            Column column = columns.get(i);
+            mColumnWidths[i] = column.isVisible() ? column.getWidth() : -1;
+        }
+
         mOverheadHeight = insets.top + insets.bottom + outline.getHeaderPanel().getPreferredSize().height;
         mMinimumHeight = mOverheadHeight + (count > 0 ? mHeights[0] : 0);
     }
@@ -91,6 +102,14 @@ public class OutlineInfo {
         return mMinimumHeight;
     }
 
+    /**
+     * @param other The information collected for the same outline during a prior layout.
+     * @return {@code true} if the outline's columns and rows were sized the same both times.
+     */
+    public boolean hasSameLayout(OutlineInfo other) {
+        return mOverheadHeight == other.mOverheadHeight && Arrays.equals(mColumnWidths, other.mColumnWidths) && Arrays.equals(mHeights, other.mHeights);
+    }
+
     /** @return The current row index. */
     public int getRowIndex() {
         return mRowIndex;
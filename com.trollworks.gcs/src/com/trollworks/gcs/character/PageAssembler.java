@@ -11,35 +11,59 @@
 
 package com.trollworks.gcs.character;
 
-import com.trollworks.gcs.character.panels.DoubleOutlinePanel;
-import com.trollworks.gcs.character.panels.SingleOutlinePanel;
 import com.trollworks.gcs.page.Page;
 import com.trollworks.gcs.ui.layout.PrecisionLayout;
 import com.trollworks.gcs.ui.layout.PrecisionLayoutData;
 import com.trollworks.gcs.ui.scale.Scale;
 import com.trollworks.gcs.ui.widget.Wrapper;
 
-import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Insets;
+import java.util.ArrayList;
+import java.util.List;
 
-/** Assembles pages in a sheet. */
+/**
+ * Assembles pages in a sheet. The content of each page is planned first, then compared against the
+ * pages of the prior assembly, so that only the pages from the first one that differs onward need
+ * to be built again.
+ */
 public class PageAssembler {
-    private static final int            GAP = 2;
-    private              CharacterSheet mSheet;
-    private              Wrapper        mContent;
-    private              int            mRemaining;
-    private              int            mContentHeight;
-    private              int            mContentWidth;
+    private static final int                   GAP = 2;
+    private              CharacterSheet        mSheet;
+    private              PageAssembler         mPrevious;
+    private              boolean               mReusePanels;
+    private              List<List<PageBlock>> mPages;
+    private              List<PageBlock>       mContent;
+    private              Dimension             mPageSize;
+    private              Insets                mPageInsets;
+    private              double                mScale;
+    private              int                   mGap;
+    private              int                   mRemaining;
+    private              int                   mContentHeight;
+    private              int                   mContentWidth;
 
     /**
      * Create a new page assembler.
      *
-     * @param sheet The sheet to assemble pages within.
+     * @param sheet       The sheet to assemble pages within.
+     * @param previous    The assembly that produced the pages currently in the sheet, or {@code
+     *                    null} if there isn't one.
+     * @param reusePanels {@code true} if the fixed panels of the previous assembly are still up to
+     *                    date and may be placed again rather than being recreated.
      */
-    PageAssembler(CharacterSheet sheet) {
+    PageAssembler(CharacterSheet sheet, PageAssembler previous, boolean reusePanels) {
         mSheet = sheet;
+        mPrevious = previous;
         Scale.setOverride(mSheet.getScale());
+        Page page = new Page(mSheet);
+        mPageSize = page.getSize();
+        mPageInsets = page.getInsets();
+        mScale = mSheet.getScale().getScale();
+        mReusePanels = reusePanels && isCompatibleWith(previous);
+        mContentWidth = mPageSize.width - (mPageInsets.left + mPageInsets.right);
+        mContentHeight = mPageSize.height - (mPageInsets.top + mPageInsets.bottom);
+        mGap = Scale.get(page).scale(GAP);
+        mPages = new ArrayList<>();
         addPageInternal();
     }
 
@@ -49,75 +73,61 @@ public class PageAssembler {
     }
 
     private void addPageInternal() {
-        Page page = new Page(mSheet);
-        mSheet.add(page);
-        if (mContentHeight < 1) {
-            Insets    insets = page.getInsets();
-            Dimension size   = page.getSize();
-            mContentWidth = size.width - (insets.left + insets.right);
-            mContentHeight = size.height - (insets.top + insets.bottom);
-        }
-        if (mContent != null) {
-            ((PrecisionLayout) mContent.getLayout()).getLayoutData(mContent.getComponent(mContent.getComponentCount() - 1)).setFillVerticalAlignment().setGrabVerticalSpace(true);
-        }
-        mContent = new Wrapper(new PrecisionLayout().setFillAlignment().setMargins(0, 0, 0, 0).setSpacing(GAP, GAP));
+        mContent = new ArrayList<>();
+        mPages.add(mContent);
         mRemaining = mContentHeight;
-        page.add(mContent);
     }
 
     /**
-     * Add a panel to the content of the page.
+     * Add a block to the content of the page.
      *
-     * @param panel     The panel to add.
-     * @param leftInfo  Outline info for the left outline.
-     * @param rightInfo Outline info for the right outline.
-     * @return {@code true} if the panel was too big to fit on a single page.
+     * @param block The block to add.
+     * @return {@code true} if the block was too big to fit on a single page.
      */
-    public boolean addToContent(Container panel, OutlineInfo leftInfo, OutlineInfo rightInfo) {
-        boolean isOutline = panel instanceof SingleOutlinePanel || panel instanceof DoubleOutlinePanel;
-        int     minLeft   = 0;
-        int     minRight  = 0;
-        int     height;
-
-        if (mContent.getComponentCount() > 0) {
-            mRemaining -= Scale.get(mContent).scale(GAP);
+    boolean addToContent(PageBlock block) {
+        OutlineInfo leftInfo  = block.getOutlineInfo(false);
+        OutlineInfo rightInfo = block.getOutlineInfo(true);
+        boolean     isOutline = block.isOutline();
+        int         minLeft   = 0;
+        int         minRight  = 0;
+        int         height;
+
+        if (!mContent.isEmpty()) {
+            mRemaining -= mGap;
         }
 
         if (isOutline) {
             minLeft = leftInfo.getMinimumHeight();
-            if (panel instanceof SingleOutlinePanel) {
-                height = minLeft;
-            } else {
+            if (block.isDouble()) {
                 minRight = rightInfo.getMinimumHeight();
                 height = Math.max(minLeft, minRight);
+            } else {
+                height = minLeft;
             }
         } else {
-            height = panel.getPreferredSize().height;
+            if (mReusePanels) {
+                PageBlock prior = mPrevious.getFixedBlock(block.getKey());
+                if (prior != null) {
+                    block.reusePanel(prior);
+                }
+            }
+            height = block.getPanel(mSheet.getScale()).getPreferredSize().height;
+            block.setHeight(height);
         }
-        if (mRemaining < height && mContent.getComponentCount() > 0) {
+        if (mRemaining < height && !mContent.isEmpty()) {
             addPageInternal();
         }
-        mContent.add(panel, new PrecisionLayoutData().setFillHorizontalAlignment().setGrabHorizontalSpace(true));
+        mContent.add(block);
 
         if (isOutline) {
             boolean hasMore;
-            if (panel instanceof SingleOutlinePanel) {
-                int startIndex = leftInfo.getRowIndex() + 1;
-                int amt        = leftInfo.determineHeightForOutline(mRemaining);
-                ((SingleOutlinePanel) panel).setOutlineRowRange(startIndex, leftInfo.getRowIndex());
-                if (amt < minLeft) {
-                    amt = minLeft;
-                }
-                mRemaining -= amt;
-                hasMore = leftInfo.hasMore();
-            } else {
-                DoubleOutlinePanel panel2      = (DoubleOutlinePanel) panel;
-                int                leftStart   = leftInfo.getRowIndex() + 1;
-                int                leftHeight  = leftInfo.determineHeightForOutline(mRemaining);
-                int                rightStart  = rightInfo.getRowIndex() + 1;
-                int                rightHeight = rightInfo.determineHeightForOutline(mRemaining);
-                panel2.setOutlineRowRange(false, leftStart, leftInfo.getRowIndex());
-                panel2.setOutlineRowRange(true, rightStart, rightInfo.getRowIndex());
+            if (block.isDouble()) {
+                int leftStart   = leftInfo.getRowIndex() + 1;
+                int leftHeight  = leftInfo.determineHeightForOutline(mRemaining);
+                int rightStart  = rightInfo.getRowIndex() + 1;
+                int rightHeight = rightInfo.determineHeightForOutline(mRemaining);
+                block.setOutlineRowRange(false, leftStart, leftInfo.getRowIndex());
+                block.setOutlineRowRange(true, rightStart, rightInfo.getRowIndex());
                 if (leftHeight < minLeft) {
                     leftHeight = minLeft;
                 }
@@ -126,6 +136,15 @@ public class PageAssembler {
                 }
                 mRemaining -= Math.max(leftHeight, rightHeight);
                 hasMore = leftInfo.hasMore() || rightInfo.hasMore();
+            } else {
+                int startIndex = leftInfo.getRowIndex() + 1;
+                int amt        = leftInfo.determineHeightForOutline(mRemaining);
+                block.setOutlineRowRange(false, startIndex, leftInfo.getRowIndex());
+                if (amt < minLeft) {
+                    amt = minLeft;
+                }
+                mRemaining -= amt;
+                hasMore = leftInfo.hasMore();
             }
             if (hasMore) {
                 addPageInternal();
@@ -142,10 +161,81 @@ public class PageAssembler {
         return true;
     }
 
-    public void finish() {
-        if (mContent != null) {
-            ((PrecisionLayout) mContent.getLayout()).getLayoutData(mContent.getComponent(mContent.getComponentCount() - 1)).setFillVerticalAlignment().setGrabVerticalSpace(true);
+    /**
+     * Places the assembled pages into the sheet. Leading pages whose content is laid out exactly as
+     * it was by the previous assembly are kept, along with their outline panels.
+     */
+    void finish() {
+        int keep = getUnchangedPageCount();
+        for (int i = 0; i < keep; i++) {
+            List<PageBlock> blocks = mPages.get(i);
+            List<PageBlock> prior  = mPrevious.mPages.get(i);
+            for (int j = 0; j < blocks.size(); j++) {
+                blocks.get(j).replace(prior.get(j));
+            }
+        }
+        while (mSheet.getComponentCount() > keep) {
+            mSheet.remove(mSheet.getComponentCount() - 1);
         }
+        if (mPrevious != null) {
+            for (List<PageBlock> blocks : mPrevious.mPages.subList(keep, mPrevious.mPages.size())) {
+                for (PageBlock block : blocks) {
+                    block.dispose();
+                }
+            }
+        }
+        Scale scale = mSheet.getScale();
+        for (int i = keep; i < mPages.size(); i++) {
+            List<PageBlock> blocks  = mPages.get(i);
+            Page            page    = new Page(mSheet);
+            Wrapper         content = new Wrapper(new PrecisionLayout().setFillAlignment().setMargins(0, 0, 0, 0).setSpacing(GAP, GAP));
+            int             last    = blocks.size() - 1;
+            for (int j = 0; j <= last; j++) {
+                PrecisionLayoutData data = new PrecisionLayoutData().setFillHorizontalAlignment().setGrabHorizontalSpace(true);
+                if (j == last) {
+                    data.setFillVerticalAlignment().setGrabVerticalSpace(true);
+                }
+                content.add(blocks.get(j).getPanel(scale), data);
+            }
+            page.add(content);
+            mSheet.add(page);
+        }
+        mPrevious = null;
         Scale.setOverride(null);
     }
+
+    private boolean isCompatibleWith(PageAssembler previous) {
+        return previous != null && mScale == previous.mScale && mPageSize.equals(previous.mPageSize) && mPageInsets.equals(previous.mPageInsets) && previous.mPages.size() == mSheet.getComponentCount();
+    }
+
+    private PageBlock getFixedBlock(String key) {
+        for (List<PageBlock> blocks : mPages) {
+            for (PageBlock block : blocks) {
+                if (!block.isOutline() && key.equals(block.getKey())) {
+                    return block;
+                }
+            }
+        }
+        return null;
+    }
+
+    private int getUnchangedPageCount() {
+        if (!isCompatibleWith(mPrevious)) {
+            return 0;
+        }
+        int count = Math.min(mPages.size(), mPrevious.mPages.size());
+        for (int i = 0; i < count; i++) {
+            List<PageBlock> blocks = mPages.get(i);
+            List<PageBlock> prior  = mPrevious.mPages.get(i);
+            if (blocks.size() != prior.size()) {
+                return i;
+            }
+            for (int j = 0; j < blocks.size(); j++) {
+                if (!blocks.get(j).hasSameLayout(prior.get(j))) {
+                    return i;
+                }
+            }
+        }
+        return count;
+    }
 }
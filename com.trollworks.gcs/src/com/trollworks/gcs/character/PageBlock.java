@@ -0,0 +1,218 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character;
+
+import com.trollworks.gcs.character.panels.DoubleOutlinePanel;
+import com.trollworks.gcs.character.panels.SingleOutlinePanel;
+import com.trollworks.gcs.ui.UIUtilities;
+import com.trollworks.gcs.ui.layout.PrecisionLayout;
+import com.trollworks.gcs.ui.layout.PrecisionLayoutData;
+import com.trollworks.gcs.ui.scale.Scale;
+import com.trollworks.gcs.ui.widget.outline.Outline;
+
+import java.awt.Container;
+import java.util.function.Supplier;
+
+/**
+ * Describes a panel placed on a page of a sheet, in enough detail to tell whether the panel placed
+ * there by a prior layout can be reused.
+ */
+class PageBlock {
+    private String              mKey;
+    private Supplier<Container> mFactory;
+    private Container           mPanel;
+    private int                 mHeight;
+    private boolean             mUseProxy;
+    private Outline             mLeftOutline;
+    private String              mLeftTitle;
+    private OutlineInfo         mLeftInfo;
+    private int                 mLeftFirst;
+    private int                 mLeftLast;
+    private Outline             mRightOutline;
+    private String              mRightTitle;
+    private OutlineInfo         mRightInfo;
+    private int                 mRightFirst;
+    private int                 mRightLast;
+
+    /**
+     * Creates a block for a panel whose content is fixed at the time of its creation.
+     *
+     * @param key     A key identifying the panel, which must be the same for the panel that takes
+     *                its place in subsequent layouts.
+     * @param factory Creates the panel.
+     */
+    PageBlock(String key, Supplier<Container> factory) {
+        mKey = key;
+        mFactory = factory;
+    }
+
+    /**
+     * Creates a block for an outline.
+     *
+     * @param outline  The outline to display.
+     * @param title    The localized title for the panel.
+     * @param info     The layout information for the outline.
+     * @param useProxy {@code true} if a proxy of the outline should be used.
+     */
+    PageBlock(Outline outline, String title, OutlineInfo info, boolean useProxy) {
+        mLeftOutline = outline;
+        mLeftTitle = title;
+        mLeftInfo = info;
+        mUseProxy = useProxy;
+    }
+
+    /**
+     * Creates a block for a pair of side-by-side outlines.
+     *
+     * @param leftOutline  The outline to display on the left.
+     * @param leftTitle    The localized title for the left panel.
+     * @param leftInfo     The layout information for the left outline.
+     * @param rightOutline The outline to display on the right.
+     * @param rightTitle   The localized title for the right panel.
+     * @param rightInfo    The layout information for the right outline.
+     * @param useProxy     {@code true} if a proxy of the outlines should be used.
+     */
+    PageBlock(Outline leftOutline, String leftTitle, OutlineInfo leftInfo, Outline rightOutline, String rightTitle, OutlineInfo rightInfo, boolean useProxy) {
+        this(leftOutline, leftTitle, leftInfo, useProxy);
+        mRightOutline = rightOutline;
+        mRightTitle = rightTitle;
+        mRightInfo = rightInfo;
+    }
+
+    /** @return The key identifying a block holding a fixed panel. */
+    String getKey() {
+        return mKey;
+    }
+
+    /** @return {@code true} if this block holds one or two outlines. */
+    boolean isOutline() {
+        return mLeftOutline != null;
+    }
+
+    /** @return {@code true} if this block holds a pair of outlines. */
+    boolean isDouble() {
+        return mRightOutline != null;
+    }
+
+    /**
+     * @param forRight {@code true} to return the information for the right outline.
+     * @return The layout information for the outline, or {@code null} if there isn't one.
+     */
+    OutlineInfo getOutlineInfo(boolean forRight) {
+        return forRight ? mRightInfo : mLeftInfo;
+    }
+
+    /** @return The height of a block holding a fixed panel. */
+    int getHeight() {
+        return mHeight;
+    }
+
+    /** @param height The height of a block holding a fixed panel. */
+    void setHeight(int height) {
+        mHeight = height;
+    }
+
+    /**
+     * Sets the embedded outline's display range.
+     *
+     * @param forRight {@code true} to set the right outline.
+     * @param first    The first row to display.
+     * @param last     The last row to display.
+     */
+    void setOutlineRowRange(boolean forRight, int first, int last) {
+        if (forRight) {
+            mRightFirst = first;
+            mRightLast = last;
+        } else {
+            mLeftFirst = first;
+            mLeftLast = last;
+        }
+    }
+
+    /**
+     * @param scale The scale to use.
+     * @return The panel for this block, creating it if needed.
+     */
+    Container getPanel(Scale scale) {
+        if (mPanel == null) {
+            if (!isOutline()) {
+                mPanel = mFactory.get();
+            } else if (isDouble()) {
+                DoubleOutlinePanel panel = new DoubleOutlinePanel(scale, mLeftOutline, mLeftTitle, mRightOutline, mRightTitle, mUseProxy);
+                panel.setOutlineRowRange(false, mLeftFirst, mLeftLast);
+                panel.setOutlineRowRange(true, mRightFirst, mRightLast);
+                mPanel = panel;
+            } else {
+                SingleOutlinePanel panel = new SingleOutlinePanel(scale, mLeftOutline, mLeftTitle, mUseProxy);
+                panel.setOutlineRowRange(mLeftFirst, mLeftLast);
+                mPanel = panel;
+            }
+        }
+        return mPanel;
+    }
+
+    /**
+     * @param other A block from a prior layout.
+     * @return {@code true} if the other block's panel occupies the same space and shows the same
+     *         rows as this block's would.
+     */
+    boolean hasSameLayout(PageBlock other) {
+        if (!isOutline()) {
+            return !other.isOutline() && mKey.equals(other.mKey) && mHeight == other.mHeight;
+        }
+        if (mLeftOutline != other.mLeftOutline || mRightOutline != other.mRightOutline || mUseProxy != other.mUseProxy) {
+            return false;
+        }
+        if (!mLeftTitle.equals(other.mLeftTitle) || mLeftFirst != other.mLeftFirst || mLeftLast != other.mLeftLast || !mLeftInfo.hasSameLayout(other.mLeftInfo)) {
+            return false;
+        }
+        return !isDouble() || mRightTitle.equals(other.mRightTitle) && mRightFirst == other.mRightFirst && mRightLast == other.mRightLast && mRightInfo.hasSameLayout(other.mRightInfo);
+    }
+
+    /**
+     * Uses the panel of a block from a prior layout rather than creating a new one. Only valid for
+     * blocks holding fixed panels whose content has not changed since.
+     *
+     * @param other The block with the panel to use.
+     */
+    void reusePanel(PageBlock other) {
+        mPanel = other.mPanel;
+    }
+
+    /**
+     * Takes over the place of a block from a prior layout that has the same layout as this one.
+     * Outline panels are kept as they are, since they draw their content from the outline. Fixed
+     * panels are replaced with this block's panel, as their content may be out of date.
+     *
+     * @param other The block to take the place of.
+     */
+    void replace(PageBlock other) {
+        if (isOutline()) {
+            mPanel = other.mPanel;
+        } else if (mPanel != other.mPanel) {
+            Container           parent = other.mPanel.getParent();
+            PrecisionLayoutData data   = ((PrecisionLayout) parent.getLayout()).getLayoutData(other.mPanel);
+            int                 index  = UIUtilities.getIndexOf(parent, other.mPanel);
+            parent.remove(index);
+            parent.add(mPanel, data, index);
+        }
+    }
+
+    /** Call when the block's panel is no longer in use. */
+    void dispose() {
+        if (mPanel instanceof SingleOutlinePanel) {
+            ((SingleOutlinePanel) mPanel).dispose();
+        } else if (mPanel instanceof DoubleOutlinePanel) {
+            ((DoubleOutlinePanel) mPanel).dispose();
+        }
+    }
+}
@@ -43,12 +43,17 @@ import java.awt.Transparency;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.security.MessageDigest;
 import java.text.MessageFormat;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.SignStyle;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import javax.imageio.ImageIO;
 
@@ -79,8 +84,15 @@ public class Profile {
     private static final DateTimeFormatter MONTH_AND_DAY_FORMAT = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendText(MONTH_OF_YEAR, FULL).appendLiteral(' ').appendValue(DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE).toFormatter();
     private static final Random            RANDOM               = new Random();
 
+    /**
+     * Decoded portraits, keyed by a hash of their encoded data, so that the same portrait used by
+     * several sheets is only decoded once.
+     */
+    private static final Map<String, SoftReference<RetinaIcon>> PORTRAIT_CACHE = new HashMap<>();
+
     private GURPSCharacter mCharacter;
     private RetinaIcon     mPortrait;
+    private String         mPortraitData;
     private String         mName;
     private String         mTitle;
     private String         mOrganization;
@@ -174,13 +186,9 @@ public class Profile {
             }
         }
 
+        // The portrait isn't decoded until it is actually needed
         if (m.has(KEY_PORTRAIT)) {
-            try {
-                mPortrait = createPortrait(Img.create(new ByteArrayInputStream(
-                        Base64.getDecoder().decode(m.getString(KEY_PORTRAIT)))));
-            } catch (Exception imageException) {
-                Log.error(imageException);
-            }
+            mPortraitData = m.getString(KEY_PORTRAIT);
         }
     }
 
@@ -206,14 +214,17 @@ public class Profile {
         w.keyValueNot(KEY_GENDER, mGender, "");
         w.keyValueNot(KEY_TL, mTechLevel, "");
         w.keyValueNot(KEY_RELIGION, mReligion, "");
-        if (mPortrait != null) {
+        if (mPortraitData == null && mPortrait != null) {
             try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
                 ImageIO.write(mPortrait.getRetina(), FileType.PNG.getExtension(), baos);
-                w.keyValue(KEY_PORTRAIT, Base64.getEncoder().encodeToString(baos.toByteArray()));
+                mPortraitData = Base64.getEncoder().encodeToString(baos.toByteArray());
             } catch (Exception imageException) {
                 Log.warn(imageException);
             }
         }
+        if (mPortraitData != null) {
+            w.keyValue(KEY_PORTRAIT, mPortraitData);
+        }
         w.endMap();
     }
 
@@ -223,12 +234,42 @@ public class Profile {
 
     /** @return The portrait. */
     public RetinaIcon getPortrait() {
+        if (mPortrait == null && mPortraitData != null) {
+            mPortrait = decodePortrait(mPortraitData);
+            if (mPortrait == null) {
+                mPortraitData = null;
+            }
+        }
         return mPortrait;
     }
 
     /** @return The portrait, or the default image if none is set. */
     public RetinaIcon getPortraitWithFallback() {
-        return mPortrait == null ? Images.DEFAULT_PORTRAIT : mPortrait;
+        RetinaIcon portrait = getPortrait();
+        return portrait == null ? Images.DEFAULT_PORTRAIT : portrait;
+    }
+
+    private static RetinaIcon decodePortrait(String data) {
+        try {
+            byte[]     bytes = Base64.getDecoder().decode(data);
+            String     key   = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            RetinaIcon portrait;
+            synchronized (PORTRAIT_CACHE) {
+                SoftReference<RetinaIcon> ref = PORTRAIT_CACHE.get(key);
+                portrait = ref != null ? ref.get() : null;
+            }
+            if (portrait == null) {
+                portrait = createPortrait(Img.create(new ByteArrayInputStream(bytes)));
+                synchronized (PORTRAIT_CACHE) {
+                    PORTRAIT_CACHE.values().removeIf((ref) -> ref.get() == null);
+                    PORTRAIT_CACHE.put(key, new SoftReference<>(portrait));
+                }
+            }
+            return portrait;
+        } catch (Exception imageException) {
+            Log.error(imageException);
+            return null;
+        }
     }
 
     /**
@@ -237,16 +278,19 @@ public class Profile {
      * @param portrait The new portrait.
      */
     public void setPortrait(Img portrait) {
+        RetinaIcon oldPortrait = getPortrait();
         if (portrait == null) {
-            if (mPortrait != null) {
-                mCharacter.postUndoEdit(I18n.text("Portrait Change"), (c, v) -> c.getProfile().setPortrait(v != null ? ((RetinaIcon) v).getRetina() : null), mPortrait, null);
+            if (oldPortrait != null) {
+                mCharacter.postUndoEdit(I18n.text("Portrait Change"), (c, v) -> c.getProfile().setPortrait(v != null ? ((RetinaIcon) v).getRetina() : null), oldPortrait, null);
                 mPortrait = null;
+                mPortraitData = null;
                 mCharacter.notifyOfChange();
             }
-        } else if (mPortrait == null || mPortrait.getRetina() != portrait) {
+        } else if (oldPortrait == null || oldPortrait.getRetina() != portrait) {
             RetinaIcon newPortrait = createPortrait(portrait);
-            mCharacter.postUndoEdit(I18n.text("Portrait Change"), (c, v) -> c.getProfile().setPortrait(v != null ? ((RetinaIcon) v).getRetina() : null), mPortrait, newPortrait);
+            mCharacter.postUndoEdit(I18n.text("Portrait Change"), (c, v) -> c.getProfile().setPortrait(v != null ? ((RetinaIcon) v).getRetina() : null), oldPortrait, newPortrait);
             mPortrait = newPortrait;
+            mPortraitData = null;
             mCharacter.notifyOfChange();
         }
     }
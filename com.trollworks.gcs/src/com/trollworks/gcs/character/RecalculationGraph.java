@@ -0,0 +1,262 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character;
+
+import com.trollworks.gcs.feature.Feature;
+import com.trollworks.gcs.skill.Skill;
+import com.trollworks.gcs.skill.SkillDefault;
+import com.trollworks.gcs.skill.SkillDefaultType;
+import com.trollworks.gcs.skill.Technique;
+import com.trollworks.gcs.spell.RitualMagicSpell;
+import com.trollworks.gcs.spell.Spell;
+import com.trollworks.gcs.ui.widget.outline.ListRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Tracks the dependencies between the skills and spells of a character, so that a recalculation
+ * only needs to update the levels that can actually be affected by what changed since the previous
+ * one. Skill and spell levels depend upon each other through skill-based defaults, technique
+ * defaults and ritual magic base skills; these are tracked individually. Everything else a level
+ * depends upon (attributes, encumbrance and the bonuses granted by features) is treated as a
+ * single global input, and a change to any of it causes all levels to be updated.
+ */
+class RecalculationGraph {
+    /**
+     * Unfortunately, there are what amount to circular references in the GURPS logic, so the
+     * members of a cycle need to be run through a few times until things stabilize. To avoid a
+     * potential endless loop, though, the iterations are capped.
+     */
+    private static final int MAX_CYCLE_ITERATIONS = 5;
+
+    private GURPSCharacter              mCharacter;
+    private Set<ListRow>                mDirty    = new HashSet<>();
+    private boolean                     mAllDirty = true;
+    private Map<ListRow, String>        mKeys     = new HashMap<>();
+    private Map<String, List<Feature>>  mFeatures = new HashMap<>();
+    private List<ListRow>               mNodes;
+    private Map<ListRow, List<ListRow>> mDependencies;
+    private List<List<ListRow>>         mComponents;
+    private Map<ListRow, Integer>       mIndexes;
+    private Map<ListRow, Integer>       mLowLinks;
+    private List<ListRow>               mStack;
+    private Set<ListRow>                mOnStack;
+
+    RecalculationGraph(GURPSCharacter character) {
+        mCharacter = character;
+    }
+
+    /** @param row The skill or spell whose data was changed. */
+    void markDirty(ListRow row) {
+        mDirty.add(row);
+    }
+
+    /** Marks all levels as needing to be updated. */
+    void markAllDirty() {
+        mAllDirty = true;
+    }
+
+    /**
+     * Updates the skill and spell levels that may have been affected by the changes made since the
+     * last call. The dependencies of each level are always brought up-to-date before the level
+     * itself, so a single pass suffices for everything but cycles.
+     *
+     * @param featureMap The feature map that is now in effect.
+     */
+    void update(Map<String, ? extends List<Feature>> featureMap) {
+        buildGraph();
+        // Both snapshots must be refreshed on every pass, including full ones, or the next
+        // incremental pass would compare against stale data
+        boolean keysChanged     = updateKeys();
+        boolean featuresChanged = updateFeatures(featureMap);
+        boolean all             = mAllDirty || mDirty.isEmpty() || keysChanged || featuresChanged;
+        Set<ListRow> changed = new HashSet<>();
+        for (List<ListRow> component : mComponents) {
+            if (all || needsUpdate(component, changed)) {
+                boolean cycle = component.size() > 1 || mDependencies.get(component.get(0)).contains(component.get(0));
+                int     tries = cycle ? MAX_CYCLE_ITERATIONS : 1;
+                boolean again;
+                do {
+                    again = false;
+                    for (ListRow row : component) {
+                        if (updateLevel(row)) {
+                            changed.add(row);
+                            again = cycle;
+                        }
+                    }
+                } while (again && --tries > 0);
+                for (ListRow row : component) {
+                    if (mDirty.contains(row)) {
+                        // Any change to a dirty row, such as its points, may affect its dependents
+                        changed.add(row);
+                    }
+                }
+            }
+        }
+        mDirty.clear();
+        mAllDirty = false;
+        mNodes = null;
+        mDependencies = null;
+        mComponents = null;
+    }
+
+    private boolean needsUpdate(List<ListRow> component, Set<ListRow> changed) {
+        for (ListRow row : component) {
+            if (mDirty.contains(row)) {
+                return true;
+            }
+            for (ListRow dependency : mDependencies.get(row)) {
+                if (changed.contains(dependency)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean updateLevel(ListRow row) {
+        if (row instanceof Skill) {
+            Skill        skill  = (Skill) row;
+            SkillDefault before = skill.getDefaultedFrom();
+            boolean      result = skill.updateLevel(true);
+            return result || !Objects.equals(before, skill.getDefaultedFrom());
+        }
+        return ((Spell) row).updateLevel(true);
+    }
+
+    private void buildGraph() {
+        mNodes = new ArrayList<>();
+        for (Skill skill : mCharacter.getSkillsIterator()) {
+            mNodes.add(skill);
+        }
+        for (Spell spell : mCharacter.getSpellsIterator()) {
+            mNodes.add(spell);
+        }
+        mDependencies = new HashMap<>();
+        for (ListRow row : mNodes) {
+            List<ListRow> dependencies = new ArrayList<>();
+            if (row instanceof Technique) {
+                addSkillDependencies(dependencies, ((Technique) row).getDefault());
+            } else if (row instanceof Skill) {
+                for (SkillDefault skillDefault : row.getDefaults()) {
+                    addSkillDependencies(dependencies, skillDefault);
+                }
+            } else if (row instanceof RitualMagicSpell) {
+                addSkillDependencies(dependencies, ((RitualMagicSpell) row).getBaseSkillName());
+            }
+            mDependencies.put(row, dependencies);
+        }
+        // Order the strongly connected components such that dependencies always come first
+        mComponents = new ArrayList<>();
+        mIndexes = new HashMap<>();
+        mLowLinks = new HashMap<>();
+        mStack = new ArrayList<>();
+        mOnStack = new HashSet<>();
+        for (ListRow row : mNodes) {
+            if (!mIndexes.containsKey(row)) {
+                connect(row);
+            }
+        }
+        mIndexes = null;
+        mLowLinks = null;
+        mStack = null;
+        mOnStack = null;
+    }
+
+    private void addSkillDependencies(List<ListRow> dependencies, SkillDefault skillDefault) {
+        if (skillDefault != null && SkillDefaultType.isSkillBased(skillDefault.getType())) {
+            addSkillDependencies(dependencies, skillDefault.getName());
+        }
+    }
+
+    private void addSkillDependencies(List<ListRow> dependencies, String name) {
+        List<Skill> skills = mCharacter.getSkillsWithName(name);
+        if (skills != null) {
+            dependencies.addAll(skills);
+        }
+    }
+
+    private void connect(ListRow row) {
+        int index = mIndexes.size();
+        mIndexes.put(row, Integer.valueOf(index));
+        mLowLinks.put(row, Integer.valueOf(index));
+        mStack.add(row);
+        mOnStack.add(row);
+        for (ListRow dependency : mDependencies.get(row)) {
+            if (!mIndexes.containsKey(dependency)) {
+                connect(dependency);
+                mLowLinks.put(row, Integer.valueOf(Math.min(mLowLinks.get(row).intValue(), mLowLinks.get(dependency).intValue())));
+            } else if (mOnStack.contains(dependency)) {
+                mLowLinks.put(row, Integer.valueOf(Math.min(mLowLinks.get(row).intValue(), mIndexes.get(dependency).intValue())));
+            }
+        }
+        if (mLowLinks.get(row).intValue() == index) {
+            List<ListRow> component = new ArrayList<>();
+            ListRow       member;
+            do {
+                member = mStack.remove(mStack.size() - 1);
+                mOnStack.remove(member);
+                component.add(member);
+            } while (member != row);
+            if (component.size() > 1) {
+                // Keep the members of a cycle in list order, as the full recalculation does
+                List<ListRow> ordered = new ArrayList<>(component.size());
+                for (ListRow node : mNodes) {
+                    if (component.contains(node)) {
+                        ordered.add(node);
+                    }
+                }
+                component = ordered;
+            }
+            mComponents.add(component);
+        }
+    }
+
+    /**
+     * @return {@code true} if rows were added, removed or renamed, which alters which rows other
+     *         rows resolve their defaults against.
+     */
+    private boolean updateKeys() {
+        Map<ListRow, String> keys = new HashMap<>();
+        for (ListRow row : mNodes) {
+            String key = row instanceof Skill ? ((Skill) row).getName() + '\u0000' + ((Skill) row).getSpecialization() : "";
+            keys.put(row, key.toLowerCase());
+        }
+        boolean changed = !keys.equals(mKeys);
+        mKeys = keys;
+        return changed;
+    }
+
+    /** @return {@code true} if the features in effect differ from those seen last time. */
+    private boolean updateFeatures(Map<String, ? extends List<Feature>> featureMap) {
+        if (mFeatures.equals(featureMap)) {
+            return false;
+        }
+        // Features are mutable, so keep copies to compare against next time
+        Map<String, List<Feature>> copy = new HashMap<>();
+        for (Map.Entry<String, ? extends List<Feature>> entry : featureMap.entrySet()) {
+            List<Feature> list = new ArrayList<>(entry.getValue().size());
+            for (Feature feature : entry.getValue()) {
+                list.add(feature.cloneFeature());
+            }
+            copy.put(entry.getKey(), list);
+        }
+        mFeatures = copy;
+        return true;
+    }
+}
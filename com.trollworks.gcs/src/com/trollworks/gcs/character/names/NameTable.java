@@ -0,0 +1,100 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character.names;
+
+import com.trollworks.gcs.utility.Log;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A list of names, held as a single block of UTF-8 bytes along with the offset of each name within
+ * it. Individual names are only turned into strings when asked for.
+ */
+final class NameTable {
+    private byte[] mData;
+    private int[]  mStarts;
+    private int    mCount;
+
+    /**
+     * Loads names from a resource file. The names in the file should be listed one per line.
+     *
+     * @param fileName The file name to load the name data from.
+     * @param fallback A single name to use in case the file couldn't be loaded.
+     */
+    NameTable(String fileName, String fallback) {
+        try (InputStream in = Names.class.getModule().getResourceAsStream("/names/" + fileName)) {
+            mData = in.readAllBytes();
+        } catch (Exception exception) {
+            Log.error(exception);
+            mData = new byte[0];
+        }
+        // Pack the trimmed names together in place, so that each one ends where the next begins
+        mStarts = new int[256];
+        int length = mData.length;
+        int start  = 0;
+        int used   = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && mData[end] != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            while (start < end && isWhitespace(mData[start])) {
+                start++;
+            }
+            while (end > start && isWhitespace(mData[end - 1])) {
+                end--;
+            }
+            if (start < end) {
+                addStart(used);
+                System.arraycopy(mData, start, mData, used, end - start);
+                used += end - start;
+            }
+            start = next;
+        }
+        if (mCount == 0) {
+            mData = fallback.getBytes(StandardCharsets.UTF_8);
+            addStart(0);
+            used = mData.length;
+        }
+        mStarts = Arrays.copyOf(mStarts, mCount + 1);
+        mStarts[mCount] = used;
+        mData = Arrays.copyOf(mData, used);
+    }
+
+    private static boolean isWhitespace(byte ch) {
+        return ch >= 0 && ch <= ' ';
+    }
+
+    private void addStart(int start) {
+        if (mCount + 1 >= mStarts.length) {
+            mStarts = Arrays.copyOf(mStarts, mStarts.length * 2);
+        }
+        mStarts[mCount++] = start;
+    }
+
+    /** @return The number of names. */
+    int size() {
+        return mCount;
+    }
+
+    /**
+     * @param index The index of the name.
+     * @return The name.
+     */
+    String get(int index) {
+        int start = mStarts[index];
+        return new String(mData, start, mStarts[index + 1] - start, StandardCharsets.UTF_8);
+    }
+}
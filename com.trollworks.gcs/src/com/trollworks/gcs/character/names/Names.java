@@ -11,13 +11,6 @@
 
 package com.trollworks.gcs.character.names;
 
-import com.trollworks.gcs.utility.Log;
-
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 /** An abstract base class for name generation. */
@@ -51,34 +44,4 @@ public abstract class Names {
     public String getFullName(boolean male) {
         return getGivenName(male) + " " + getLastName();
     }
-
-    /**
-     * Loads names from a resource file into an array of strings. The names in the file should be
-     * listed one per line.
-     *
-     * @param fileName The file name to load the name data from.
-     * @param fallback A single name to use in case the file couldn't be loaded.
-     * @return An array of strings representing the contents of the file.
-     */
-    protected static final String[] loadNames(String fileName, String fallback) {
-        List<String> names = new ArrayList<>();
-        try {
-            try (BufferedReader in = new BufferedReader(new InputStreamReader(Names.class.getModule().getResourceAsStream("/names/" + fileName), StandardCharsets.UTF_8))) {
-                String line = in.readLine();
-                while (line != null) {
-                    line = line.trim();
-                    if (!line.isBlank()) {
-                        names.add(line);
-                    }
-                    line = in.readLine();
-                }
-            }
-        } catch (Exception exception) {
-            Log.error(exception);
-        }
-        if (names.isEmpty()) {
-            names.add(fallback);
-        }
-        return names.toArray(new String[0]);
-    }
 }
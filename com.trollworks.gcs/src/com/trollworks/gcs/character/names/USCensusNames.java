@@ -11,13 +11,13 @@
 
 package com.trollworks.gcs.character.names;
 
-/** Generates random names from the 1990 U.S. census data. */
+/**
+ * Generates random names from the 1990 U.S. census data. Each list of names is only loaded the
+ * first time a name is drawn from it.
+ */
 public final class USCensusNames extends Names {
     /** The one and only global instance of this class. */
-    public static final  USCensusNames INSTANCE = new USCensusNames();
-    private static final String[]      FEMALE   = loadNames("USCensus1990FemaleFirstNames.txt", "Mary");
-    private static final String[]      MALE     = loadNames("USCensus1990MaleFirstNames.txt", "Richard");
-    private static final String[]      LAST     = loadNames("USCensus1990LastNames.txt", "Wilkes");
+    public static final USCensusNames INSTANCE = new USCensusNames();
 
     private USCensusNames() {
         // Just here to prevent external instantiation
@@ -25,16 +25,32 @@ public final class USCensusNames extends Names {
 
     @Override
     public String getLastName() {
-        return LAST[RANDOM.nextInt(LAST.length)];
+        return pick(Last.NAMES);
     }
 
     @Override
     public String getFemaleFirstName() {
-        return FEMALE[RANDOM.nextInt(FEMALE.length)];
+        return pick(Female.NAMES);
     }
 
     @Override
     public String getMaleFirstName() {
-        return MALE[RANDOM.nextInt(MALE.length)];
+        return pick(Male.NAMES);
+    }
+
+    private static String pick(NameTable names) {
+        return names.get(RANDOM.nextInt(names.size()));
+    }
+
+    private static final class Female {
+        static final NameTable NAMES = new NameTable("USCensus1990FemaleFirstNames.txt", "Mary");
+    }
+
+    private static final class Male {
+        static final NameTable NAMES = new NameTable("USCensus1990MaleFirstNames.txt", "Richard");
+    }
+
+    private static final class Last {
+        static final NameTable NAMES = new NameTable("USCensus1990LastNames.txt", "Wilkes");
     }
 }
@@ -44,6 +44,12 @@ public class DoubleOutlinePanel extends ContentPanel {
         add(mRightPanel);
     }
 
+    /** Call when the panel is no longer in use. */
+    public void dispose() {
+        mLeftPanel.dispose();
+        mRightPanel.dispose();
+    }
+
     /**
      * Sets the embedded outline's display range.
      *
@@ -49,6 +49,13 @@ public class SingleOutlinePanel extends DropPanel implements LayoutManager2 {
         setLayout(this);
     }
 
+    /** Call when the panel is no longer in use. */
+    public void dispose() {
+        if (mOutline instanceof OutlineProxy) {
+            mOutline.getRealOutline().removeProxy((OutlineProxy) mOutline);
+        }
+    }
+
     /**
      * Sets the embedded outline's display range.
      *
@@ -14,8 +14,10 @@ package com.trollworks.gcs.cmdline;
 import com.trollworks.gcs.character.CharacterSheet;
 import com.trollworks.gcs.character.GURPSCharacter;
 import com.trollworks.gcs.character.TextTemplate;
+import com.trollworks.gcs.settings.Settings;
 import com.trollworks.gcs.ui.GraphicsUtilities;
 import com.trollworks.gcs.ui.UIUtilities;
+import com.trollworks.gcs.ui.image.Img;
 import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.Fixed6;
 import com.trollworks.gcs.utility.I18n;
@@ -25,19 +27,35 @@ import com.trollworks.gcs.utility.text.Numbers;
 import com.trollworks.gcs.utility.units.LengthUnits;
 
 import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+public final class Export {
+    /** The number of files per thread that may be loaded ahead of, or be waiting on, output. */
+    private static final int PENDING_PER_THREAD  = 2;
+    /** The fraction of the maximum heap that rendered pages awaiting encoding may occupy. */
+    private static final int PAGE_MEMORY_DIVISOR = 4;
 
-public final class Export implements Runnable {
     List<Path> mFiles;
     boolean    mGeneratePNG;
     boolean    mGenerateText;
     Path       mTemplate;
     String     mMargins;
     String     mPaper;
+    int        mPageMemoryLimit;
+    Semaphore  mPageMemory;
 
     public static void process(List<Path> files, boolean generatePNG, boolean generateText, Path template, String margins, String paper) {
         if (files.isEmpty()) {
@@ -46,11 +64,10 @@ public final class Export implements Runnable {
         }
         System.setProperty("java.awt.headless", Boolean.TRUE.toString());
         UIUtilities.initialize();
+        // Make sure the shared settings are in place before any of the worker threads need them
+        Settings.getInstance();
         try {
-            // This is run on the event queue since much of the sheet logic assumes a UI
-            // environment and would otherwise cause concurrent modification exceptions, as the
-            // detection of whether it was safe to modify data would be inaccurate.
-            EventQueue.invokeAndWait(new Export(files, generatePNG, generateText, template, margins, paper));
+            new Export(files, generatePNG, generateText, template, margins, paper).run();
         } catch (Exception exception) {
             exception.printStackTrace(System.err);
             System.exit(1);
@@ -64,64 +81,220 @@ public final class Export implements Runnable {
         mTemplate = mGenerateText ? template : null;
         mMargins = margins;
         mPaper = paper;
+        mPageMemoryLimit = (int) Math.min(Runtime.getRuntime().maxMemory() / PAGE_MEMORY_DIVISOR / 1024, Integer.MAX_VALUE);
+        mPageMemory = new Semaphore(mPageMemoryLimit);
     }
 
-    public void run() {
+    /**
+     * Characters are loaded and recalculated on a pool of worker threads. Only the sheet layout and
+     * page rendering is done on the event queue, since much of the sheet logic assumes a UI
+     * environment and would otherwise cause concurrent modification exceptions, as the detection
+     * of whether it was safe to modify data would be inaccurate. Text template output and PNG
+     * encoding are then handed off to another pool. Rendering stalls while the pages waiting to be
+     * encoded exceed a fixed share of the heap, so at most that much plus one sheet's pages are
+     * held at a time. Each file's results are reported in the order the files were given,
+     * regardless of the order in which they finish.
+     */
+    private void run() throws InterruptedException, InvocationTargetException {
         if (mGenerateText || mGeneratePNG) {
-            Timing timing = new Timing();
+            Timing             timing  = new Timing();
+            int                threads = Math.max(Runtime.getRuntime().availableProcessors(), 1);
+            int                window  = threads * PENDING_PER_THREAD;
+            ExecutorService    loaders = Executors.newFixedThreadPool(threads);
+            ExecutorService    writers = Executors.newFixedThreadPool(threads);
+            Deque<Future<Job>> loading = new ArrayDeque<>();
+            Deque<Future<Job>> writing = new ArrayDeque<>();
+            List<Job>          jobs    = new ArrayList<>();
+            int                next    = 0;
             GraphicsUtilities.setAllowUserDisplay(false);
-            for (Path path : mFiles) {
-                if (!FileType.SHEET.matchExtension(PathUtils.getExtension(path)) || !Files.isReadable(path)) {
-                    System.out.printf(I18n.text("Unable to load %s\n"), path);
-                    continue;
-                }
-                System.out.printf(I18n.text("Loading %s... "), path);
-                System.out.flush();
-                timing.reset();
-                try {
-                    GURPSCharacter character = new GURPSCharacter(path);
-                    CharacterSheet sheet     = new CharacterSheet(character);
-                    Path           output;
-                    boolean        success;
-
-                    sheet.addNotify(); // Required to allow layout to work
-                    sheet.rebuild();
-                    sheet.setSize(sheet.getPreferredSize());
-
-                    System.out.println(timing);
-                    if (mGenerateText) {
-                        System.out.print(I18n.text("  Creating from text template... "));
-                        System.out.flush();
-                        output = path.resolveSibling(PathUtils.enforceExtension(PathUtils.getLeafName(path, false), PathUtils.getExtension(mTemplate)));
-                        timing.reset();
-                        success = new TextTemplate(sheet).export(output, mTemplate);
-                        System.out.println(timing);
-                        System.out.printf(I18n.text("    Used text template file: %s\n"), mTemplate.normalize().toAbsolutePath());
-                        if (success) {
-                            System.out.printf(I18n.text("    Created: %s\n"), output);
-                        }
+            try {
+                while (next < mFiles.size() || !loading.isEmpty()) {
+                    while (next < mFiles.size() && loading.size() < window) {
+                        Job job = new Job(mFiles.get(next++));
+                        loading.add(loaders.submit(() -> load(job)));
                     }
-                    if (mGeneratePNG) {
-                        List<Path> result = new ArrayList<>();
-                        System.out.print(I18n.text("  Creating PNG... "));
-                        System.out.flush();
-                        output = path.resolveSibling(PathUtils.enforceExtension(PathUtils.getLeafName(path, false), FileType.PNG.getExtension()));
-                        timing.reset();
-                        success = sheet.saveAsPNG(output, result);
-                        System.out.println(timing);
-                        if (success) {
-                            for (Path one : result) {
-                                System.out.printf(I18n.text("    Created: %s\n"), one);
-                            }
+                    Job job = get(loading.removeFirst());
+                    jobs.add(job);
+                    if (job.mCharacter != null) {
+                        EventQueue.invokeAndWait(() -> layout(job));
+                        // Let any rebuilds the sheet deferred during layout run before handing it
+                        // off, so that nothing on the event queue touches it while it is written.
+                        EventQueue.invokeAndWait(() -> {});
+                        if (job.mPages != null) {
+                            job.mPageMemory = Math.min(getPageMemory(job.mPages), mPageMemoryLimit);
+                            mPageMemory.acquire(job.mPageMemory);
                         }
                     }
-                    sheet.dispose();
-                } catch (Exception exception) {
-                    exception.printStackTrace();
-                    System.out.println(I18n.text("  ** ERROR ENCOUNTERED **"));
+                    writing.add(job.mSheet != null ? writers.submit(() -> write(job)) : CompletableFuture.completedFuture(job));
+                    while (!writing.isEmpty() && (writing.size() > window || writing.peekFirst().isDone())) {
+                        report(get(writing.removeFirst()));
+                    }
+                }
+                while (!writing.isEmpty()) {
+                    report(get(writing.removeFirst()));
+                }
+            } finally {
+                loaders.shutdownNow();
+                writers.shutdownNow();
+                GraphicsUtilities.setAllowUserDisplay(true);
+            }
+            reportSummary(jobs, threads, timing);
+        }
+    }
+
+    private static Job get(Future<Job> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException exception) {
+            // The jobs catch their own exceptions, so this shouldn't happen
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    /** @return The memory used by the page images, in kilobytes. */
+    private static int getPageMemory(List<Img> pages) {
+        long bytes = 0;
+        for (Img page : pages) {
+            bytes += 4L * page.getWidth() * page.getHeight();
+        }
+        return (int) Math.min(bytes / 1024, Integer.MAX_VALUE);
+    }
+
+    /** Called from a worker thread. */
+    private static Job load(Job job) {
+        Path path = job.mPath;
+        if (!FileType.SHEET.matchExtension(PathUtils.getExtension(path)) || !Files.isReadable(path)) {
+            job.mUnreadable = true;
+            return job;
+        }
+        Timing timing = new Timing();
+        try {
+            job.mCharacter = new GURPSCharacter(path);
+        } catch (Exception exception) {
+            job.mException = exception;
+        }
+        job.mLoadTime = timing.elapsed();
+        return job;
+    }
+
+    /** Called on the event queue. */
+    private void layout(Job job) {
+        Timing timing = new Timing();
+        try {
+            CharacterSheet sheet = new CharacterSheet(job.mCharacter);
+            sheet.addNotify(); // Required to allow layout to work
+            sheet.rebuild();
+            sheet.setSize(sheet.getPreferredSize());
+            job.mSheet = sheet;
+            job.mLayoutTime = timing.elapsedThenReset();
+            if (mGeneratePNG) {
+                job.mPages = sheet.createPageImages();
+                job.mPNGTime = timing.elapsed();
+            }
+        } catch (Exception exception) {
+            job.mException = exception;
+            if (job.mSheet != null) {
+                job.mSheet.dispose();
+                job.mSheet = null;
+            }
+        }
+        job.mCharacter = null;
+    }
+
+    /** Called from a worker thread, once the event queue is done with the sheet. */
+    private Job write(Job job) {
+        Path   path   = job.mPath;
+        Timing timing = new Timing();
+        try {
+            if (mGenerateText) {
+                job.mTextOutput = path.resolveSibling(PathUtils.enforceExtension(PathUtils.getLeafName(path, false), PathUtils.getExtension(mTemplate)));
+                job.mTextSuccess = new TextTemplate(job.mSheet).export(job.mTextOutput, mTemplate);
+                job.mTextTime = timing.elapsedThenReset();
+            }
+            if (mGeneratePNG) {
+                job.mPNGOutput = new ArrayList<>();
+                if (job.mPages != null) {
+                    Path output = path.resolveSibling(PathUtils.enforceExtension(PathUtils.getLeafName(path, false), FileType.PNG.getExtension()));
+                    job.mPNGSuccess = CharacterSheet.savePageImagesAsPNG(job.mPages, output, job.mPNGOutput);
                 }
+                job.mPNGTime += timing.elapsed();
+            }
+        } catch (Exception exception) {
+            job.mException = exception;
+        }
+        CharacterSheet sheet = job.mSheet;
+        EventQueue.invokeLater(sheet::dispose);
+        job.mSheet = null;
+        job.mPages = null;
+        mPageMemory.release(job.mPageMemory);
+        job.mPageMemory = 0;
+        return job;
+    }
+
+    private void report(Job job) {
+        if (job.mUnreadable) {
+            System.out.printf(I18n.text("Unable to load %s\n"), job.mPath);
+            return;
+        }
+        System.out.printf(I18n.text("Loading %s... "), job.mPath);
+        System.out.println(Timing.format(job.mLoadTime + job.mLayoutTime));
+        if (job.mTextOutput != null) {
+            System.out.print(I18n.text("  Creating from text template... "));
+            System.out.println(Timing.format(job.mTextTime));
+            System.out.printf(I18n.text("    Used text template file: %s\n"), mTemplate.normalize().toAbsolutePath());
+            if (job.mTextSuccess) {
+                System.out.printf(I18n.text("    Created: %s\n"), job.mTextOutput);
             }
-            GraphicsUtilities.setAllowUserDisplay(true);
+        }
+        if (job.mPNGOutput != null) {
+            System.out.print(I18n.text("  Creating PNG... "));
+            System.out.println(Timing.format(job.mPNGTime));
+            if (job.mPNGSuccess) {
+                for (Path one : job.mPNGOutput) {
+                    System.out.printf(I18n.text("    Created: %s\n"), one);
+                }
+            }
+        }
+        if (job.mException != null) {
+            job.mException.printStackTrace();
+            System.out.println(I18n.text("  ** ERROR ENCOUNTERED **"));
+        }
+        System.out.flush();
+    }
+
+    private static void reportSummary(List<Job> jobs, int threads, Timing timing) {
+        String format = "%12s %12s %12s %12s  %s\n";
+        System.out.println();
+        System.out.printf(I18n.text("Timing summary (%d threads):\n"), Integer.valueOf(threads));
+        System.out.printf(format, I18n.text("Load"), I18n.text("Layout"), I18n.text("Text"), I18n.text("PNG"), I18n.text("File"));
+        for (Job job : jobs) {
+            if (!job.mUnreadable) {
+                System.out.printf(format, Timing.format(job.mLoadTime), Timing.format(job.mLayoutTime), Timing.format(job.mTextTime), Timing.format(job.mPNGTime), job.mPath);
+            }
+        }
+        System.out.printf(I18n.text("Total elapsed time: %s\n"), timing);
+    }
+
+    /** The state of a single file as it moves through the export. */
+    private static class Job {
+        Path           mPath;
+        boolean        mUnreadable;
+        GURPSCharacter mCharacter;
+        CharacterSheet mSheet;
+        List<Img>      mPages;
+        int            mPageMemory;
+        Path           mTextOutput;
+        boolean        mTextSuccess;
+        List<Path>     mPNGOutput;
+        boolean        mPNGSuccess;
+        Exception      mException;
+        long           mLoadTime;
+        long           mLayoutTime;
+        long           mTextTime;
+        long           mPNGTime;
+
+        Job(Path path) {
+            mPath = path;
         }
     }
 
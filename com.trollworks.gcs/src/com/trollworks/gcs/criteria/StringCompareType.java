@@ -23,7 +23,7 @@ public enum StringCompareType {
         }
 
         @Override
-        public boolean matches(String qualifier, String data) {
+        public boolean matchesLowerCase(String qualifier, String data) {
             return true;
         }
     },
@@ -35,7 +35,7 @@ public enum StringCompareType {
         }
 
         @Override
-        public boolean matches(String qualifier, String data) {
+        public boolean matchesLowerCase(String qualifier, String data) {
             return data.equalsIgnoreCase(qualifier);
         }
     },
@@ -47,7 +47,7 @@ public enum StringCompareType {
         }
 
         @Override
-        public boolean matches(String qualifier, String data) {
+        public boolean matchesLowerCase(String qualifier, String data) {
             return !data.equalsIgnoreCase(qualifier);
         }
     },
@@ -59,8 +59,8 @@ public enum StringCompareType {
         }
 
         @Override
-        public boolean matches(String qualifier, String data) {
-            return data.toLowerCase().contains(qualifier.toLowerCase());
+        public boolean matchesLowerCase(String qualifier, String data) {
+            return data.toLowerCase().contains(qualifier);
         }
     },
     /** The comparison for "does not contain". */
@@ -71,8 +71,8 @@ public enum StringCompareType {
         }
 
         @Override
-        public boolean matches(String qualifier, String data) {
-            return !data.toLowerCase().contains(qualifier.toLowerCase());
+        public boolean matchesLowerCase(String qualifier, String data) {
+            return !data.toLowerCase().contains(qualifier);
         }
     },
     /** The comparison for "starts with". */
@@ -83,8 +83,8 @@ public enum StringCompareType {
         }
 
         @Override
-        public boolean matches(String qualifier, String data) {
-            return data.toLowerCase().startsWith(qualifier.toLowerCase());
+        public boolean matchesLowerCase(String qualifier, String data) {
+            return data.toLowerCase().startsWith(qualifier);
         }
     },
     /** The comparison for "does not start with". */
@@ -95,8 +95,8 @@ public enum StringCompareType {
         }
 
         @Override
-        public boolean matches(String qualifier, String data) {
-            return !data.toLowerCase().startsWith(qualifier.toLowerCase());
+        public boolean matchesLowerCase(String qualifier, String data) {
+            return !data.toLowerCase().startsWith(qualifier);
         }
     },
     /** The comparison for "ends with". */
@@ -107,8 +107,8 @@ public enum StringCompareType {
         }
 
         @Override
-        public boolean matches(String qualifier, String data) {
-            return data.toLowerCase().endsWith(qualifier.toLowerCase());
+        public boolean matchesLowerCase(String qualifier, String data) {
+            return data.toLowerCase().endsWith(qualifier);
         }
     },
     /** The comparison for "does not end with". */
@@ -119,8 +119,8 @@ public enum StringCompareType {
         }
 
         @Override
-        public boolean matches(String qualifier, String data) {
-            return !data.toLowerCase().endsWith(qualifier.toLowerCase());
+        public boolean matchesLowerCase(String qualifier, String data) {
+            return !data.toLowerCase().endsWith(qualifier);
         }
     };
 
@@ -139,5 +139,16 @@ public enum StringCompareType {
      * @param data      The data to check.
      * @return Whether the data matches the criteria or not.
      */
-    public abstract boolean matches(String qualifier, String data);
+    public boolean matches(String qualifier, String data) {
+        return matchesLowerCase(qualifier.toLowerCase(), data);
+    }
+
+    /**
+     * Performs a comparison against a qualifier that has already been converted to lowercase.
+     *
+     * @param qualifier The lowercase qualifier to use in conjunction with this StringCompareType.
+     * @param data      The data to check.
+     * @return Whether the data matches the criteria or not.
+     */
+    public abstract boolean matchesLowerCase(String qualifier, String data);
 }
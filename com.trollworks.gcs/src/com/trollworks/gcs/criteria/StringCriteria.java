@@ -21,6 +21,7 @@ import java.io.IOException;
 public class StringCriteria extends Criteria {
     private StringCompareType mType;
     private String            mQualifier;
+    private String            mLowerCaseQualifier;
 
     /**
      * Creates a new string comparison.
@@ -41,6 +42,7 @@ public class StringCriteria extends Criteria {
     public StringCriteria(StringCriteria other) {
         mType = other.mType;
         mQualifier = other.mQualifier;
+        mLowerCaseQualifier = other.mLowerCaseQualifier;
     }
 
     @Override
@@ -97,6 +99,7 @@ public class StringCriteria extends Criteria {
     /** @param qualifier The qualifier to match against. */
     public void setQualifier(String qualifier) {
         mQualifier = qualifier != null ? qualifier : "";
+        mLowerCaseQualifier = mQualifier.toLowerCase();
     }
 
     /**
@@ -104,7 +107,9 @@ public class StringCriteria extends Criteria {
      * @return Whether the data matches this criteria.
      */
     public boolean matches(String data) {
-        return mType.matches(mQualifier, data);
+        // The comparisons are all case-insensitive, so hand them a qualifier that is already in
+        // lowercase rather than having them convert it on every call
+        return mType.matchesLowerCase(mLowerCaseQualifier, data);
     }
 
     @Override
@@ -26,13 +26,12 @@ import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 import com.trollworks.gcs.utility.undo.StdUndoManager;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -69,20 +68,14 @@ public abstract class DataFile extends ChangeableData implements Undoable {
     /** @param path The path to load. */
     public void load(Path path) throws IOException {
         setPath(path);
-        try (BufferedReader fileReader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            fileReader.mark(20);
-            char[] buffer = new char[5];
-            int    n      = fileReader.read(buffer);
-            if (n < 0) {
-                throw new IOException("Premature EOF");
-            }
-            fileReader.reset();
-            if (n == 5 && buffer[0] == '<' && buffer[1] == '?' && buffer[2] == 'x' && buffer[3] == 'm' && buffer[4] == 'l') {
-                throw new IOException("The old xml format from versions prior to GCS v4.20 cannot be read by this version of GCS");
-            } else {
-                load(Json.asMap(Json.parse(fileReader)), new LoadState());
-            }
+        CharBuffer buffer = Json.readUTF8(path);
+        if (!buffer.hasRemaining()) {
+            throw new IOException("Premature EOF");
+        }
+        if (buffer.length() >= 5 && buffer.charAt(0) == '<' && buffer.charAt(1) == '?' && buffer.charAt(2) == 'x' && buffer.charAt(3) == 'm' && buffer.charAt(4) == 'l') {
+            throw new IOException("The old xml format from versions prior to GCS v4.20 cannot be read by this version of GCS");
         }
+        load(Json.asMap(Json.parse(buffer)), new LoadState());
         mModified = false;
     }
 
@@ -29,6 +29,7 @@ import com.trollworks.gcs.skill.SkillDefault;
 import com.trollworks.gcs.template.Template;
 import com.trollworks.gcs.ui.widget.outline.Column;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
+import com.trollworks.gcs.ui.widget.outline.Row;
 import com.trollworks.gcs.ui.widget.outline.RowEditor;
 import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.Filtered;
@@ -39,6 +40,7 @@ import com.trollworks.gcs.utility.SaveType;
 import com.trollworks.gcs.utility.json.JsonArray;
 import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
+import com.trollworks.gcs.utility.units.WeightAccumulator;
 import com.trollworks.gcs.utility.units.WeightUnits;
 import com.trollworks.gcs.utility.units.WeightValue;
 import com.trollworks.gcs.weapon.MeleeWeaponStats;
@@ -89,6 +91,7 @@ public class Equipment extends ListRow implements HasSourceReference {
     private String                  mReference;
     private List<WeaponStats>       mWeapons;
     private List<EquipmentModifier> mModifiers;
+    private boolean                 mRollupDirty = true;
 
     /**
      * Creates a new equipment.
@@ -306,59 +309,99 @@ public class Equipment extends ListRow implements HasSourceReference {
 
     @Override
     public void update() {
-        updateExtendedValue();
-        updateExtendedWeight();
+        updateExtendedValues(true);
     }
 
-    private void updateExtendedValue() {
-        Fixed6 savedValue = mExtendedValue;
-        int    count      = getChildCount();
-        mExtendedValue = new Fixed6(mQuantity).mul(getAdjustedValue());
-        for (int i = 0; i < count; i++) {
-            Equipment child = (Equipment) getChild(i);
-            child.updateExtendedValue();
-            mExtendedValue = mExtendedValue.add(child.mExtendedValue);
+    /**
+     * Updates the extended value and weights of this equipment and everything it contains, all in
+     * a single pass.
+     *
+     * @param all {@code false} to skip any piece of equipment that hasn't been marked as changed
+     *            since its last update, along with everything it contains.
+     */
+    public void updateExtendedValues(boolean all) {
+        if (!all && !mRollupDirty) {
+            return;
+        }
+        mRollupDirty = false;
+        long        quantity        = Fixed6.ONE.getRawValue() * mQuantity;
+        long        value           = Fixed6.mulRaw(quantity, getAdjustedValueRaw());
+        WeightUnits units           = mWeight.getUnits();
+        long        weight          = Fixed6.mulRaw(getAdjustedWeightRaw(), quantity);
+        long        weightForSkills = mWeightIgnoredForSkills ? 0 : weight;
+        int         count           = getChildCount();
+        if (count > 0 || !getFeatures().isEmpty() || !mModifiers.isEmpty()) {
+            WeightAccumulator contained          = new WeightAccumulator(units);
+            WeightAccumulator containedForSkills = new WeightAccumulator(units);
+            boolean           useSimpleMetric    = mDataFile.getSheetSettings().useSimpleMetricConversions();
+            boolean           toMetric           = units.isMetric();
+            for (int i = 0; i < count; i++) {
+                Equipment one = (Equipment) getChild(i);
+                one.updateExtendedValues(all);
+                value += one.mExtendedValue.getRawValue();
+                WeightUnits childUnits = one.mExtendedWeight.getUnits();
+                if (useSimpleMetric) {
+                    contained.addSimpleMetric(childUnits, one.mExtendedWeight.getValue().getRawValue(), toMetric);
+                    containedForSkills.addSimpleMetric(one.mExtendedWeightForSkills.getUnits(), one.mExtendedWeightForSkills.getValue().getRawValue(), toMetric);
+                } else {
+                    contained.add(childUnits, one.mExtendedWeight.getValue().getRawValue());
+                    containedForSkills.add(one.mExtendedWeightForSkills.getUnits(), one.mExtendedWeightForSkills.getValue().getRawValue());
+                }
+            }
+            applyContainedWeightReductions(contained, containedForSkills);
+            if (units.normalizeRaw(contained.getRawValue()) > 0) {
+                weight += units.convertRaw(units, contained.getRawValue());
+            }
+            if (units.normalizeRaw(containedForSkills.getRawValue()) > 0) {
+                weightForSkills += units.convertRaw(units, containedForSkills.getRawValue());
+            }
         }
-        if (!mExtendedValue.equals(savedValue)) {
-            notifyOfChange();
+        boolean changed = false;
+        if (mExtendedValue.getRawValue() != value) {
+            mExtendedValue = Fixed6.fromRawValue(value);
+            changed = true;
+        }
+        if (mExtendedWeight.getUnits() != units || mExtendedWeight.getValue().getRawValue() != weight) {
+            mExtendedWeight = new WeightValue(Fixed6.fromRawValue(weight), units);
+            changed = true;
+        }
+        if (mExtendedWeightForSkills.getUnits() != units || mExtendedWeightForSkills.getValue().getRawValue() != weightForSkills) {
+            mExtendedWeightForSkills = new WeightValue(Fixed6.fromRawValue(weightForSkills), units);
+            changed = true;
+        }
+        if (changed) {
+            // Bypass our own notifyOfChange(), as the new totals don't need to be recalculated
+            super.notifyOfChange();
         }
     }
 
-    private void updateExtendedWeight() {
-        WeightValue saved          = mExtendedWeight;
-        WeightValue savedForSkills = mExtendedWeightForSkills;
-        int         count          = getChildCount();
-        WeightUnits units          = mWeight.getUnits();
-        mExtendedWeight = new WeightValue(getAdjustedWeight(false).getValue().mul(new Fixed6(mQuantity)), units);
-        mExtendedWeightForSkills = new WeightValue(getAdjustedWeight(true).getValue().mul(new Fixed6(mQuantity)), units);
-        WeightValue   contained          = new WeightValue(Fixed6.ZERO, units);
-        WeightValue   containedForSkills = new WeightValue(Fixed6.ZERO, units);
-        SheetSettings sheetSettings      = mDataFile.getSheetSettings();
-        boolean       useSimpleMetric    = sheetSettings.useSimpleMetricConversions();
-        for (int i = 0; i < count; i++) {
-            Equipment one = (Equipment) getChild(i);
-            one.updateExtendedWeight();
-            WeightValue weight = one.mExtendedWeight;
-            if (useSimpleMetric) {
-                weight = units.isMetric() ? GURPSCharacter.convertToGurpsMetric(weight) : GURPSCharacter.convertFromGurpsMetric(weight);
-            }
-            contained.add(weight);
-            weight = one.mExtendedWeightForSkills;
-            if (useSimpleMetric) {
-                weight = units.isMetric() ? GURPSCharacter.convertToGurpsMetric(weight) : GURPSCharacter.convertFromGurpsMetric(weight);
-            }
-            containedForSkills.add(weight);
+    private long getAdjustedValueRaw() {
+        if (mModifiers.isEmpty()) {
+            return Math.max(mValue.getRawValue(), 0);
+        }
+        return getAdjustedValue().getRawValue();
+    }
+
+    private long getAdjustedWeightRaw() {
+        if (mModifiers.isEmpty()) {
+            return Math.max(mWeight.getValue().getRawValue(), 0);
         }
-        Fixed6      percentage         = Fixed6.ZERO;
-        WeightValue reduction          = new WeightValue(Fixed6.ZERO, units);
-        WeightUnits defaultWeightUnits = sheetSettings.defaultWeightUnits();
+        return getAdjustedWeight(false).getValue().getRawValue();
+    }
+
+    private void applyContainedWeightReductions(WeightAccumulator contained, WeightAccumulator containedForSkills) {
+        WeightUnits units              = contained.getUnits();
+        long        percentage         = 0;
+        long        reduction          = 0;
+        WeightUnits defaultWeightUnits = mDataFile.getSheetSettings().defaultWeightUnits();
         for (Feature feature : getFeatures()) {
             if (feature instanceof ContainedWeightReduction) {
                 ContainedWeightReduction cwr = (ContainedWeightReduction) feature;
                 if (cwr.isPercentage()) {
-                    percentage = percentage.add(new Fixed6(cwr.getPercentageReduction()));
+                    percentage += Fixed6.ONE.getRawValue() * cwr.getPercentageReduction();
                 } else {
-                    reduction.add(cwr.getAbsoluteReduction(defaultWeightUnits));
+                    WeightValue amount = cwr.getAbsoluteReduction(defaultWeightUnits);
+                    reduction += units.convertRaw(amount.getUnits(), amount.getValue().getRawValue());
                 }
             }
         }
@@ -368,34 +411,49 @@ public class Equipment extends ListRow implements HasSourceReference {
                     if (feature instanceof ContainedWeightReduction) {
                         ContainedWeightReduction cwr = (ContainedWeightReduction) feature;
                         if (cwr.isPercentage()) {
-                            percentage = percentage.add(new Fixed6(cwr.getPercentageReduction()));
+                            percentage += Fixed6.ONE.getRawValue() * cwr.getPercentageReduction();
                         } else {
-                            reduction.add(cwr.getAbsoluteReduction(defaultWeightUnits));
+                            WeightValue amount = cwr.getAbsoluteReduction(defaultWeightUnits);
+                            reduction += units.convertRaw(amount.getUnits(), amount.getValue().getRawValue());
                         }
                     }
                 }
             }
         }
-        if (percentage.greaterThan(Fixed6.ZERO)) {
-            Fixed6 oneHundred = new Fixed6(100);
-            if (percentage.greaterThanOrEqual(oneHundred)) {
-                contained = new WeightValue(Fixed6.ZERO, units);
-                containedForSkills = new WeightValue(Fixed6.ZERO, units);
+        if (percentage > 0) {
+            long oneHundred = Fixed6.ONE.getRawValue() * 100;
+            if (percentage >= oneHundred) {
+                contained.setRawValue(0);
+                containedForSkills.setRawValue(0);
             } else {
-                contained.subtract(new WeightValue(contained.getValue().mul(percentage).div(oneHundred), contained.getUnits()));
-                containedForSkills.subtract(new WeightValue(containedForSkills.getValue().mul(percentage).div(oneHundred), containedForSkills.getUnits()));
+                contained.subtract(units, Fixed6.divRaw(Fixed6.mulRaw(contained.getRawValue(), percentage), oneHundred));
+                containedForSkills.subtract(units, Fixed6.divRaw(Fixed6.mulRaw(containedForSkills.getRawValue(), percentage), oneHundred));
             }
         }
-        contained.subtract(reduction);
-        containedForSkills.subtract(reduction);
-        if (contained.getNormalizedValue().greaterThan(Fixed6.ZERO)) {
-            mExtendedWeight.add(contained);
-        }
-        if (containedForSkills.getNormalizedValue().greaterThan(Fixed6.ZERO)) {
-            mExtendedWeightForSkills.add(containedForSkills);
-        }
-        if (!saved.equals(mExtendedWeight) || !savedForSkills.equals(mExtendedWeightForSkills)) {
-            notifyOfChange();
+        contained.subtract(units, reduction);
+        containedForSkills.subtract(units, reduction);
+    }
+
+    @Override
+    public void notifyOfChange() {
+        markRollupDirty();
+        super.notifyOfChange();
+    }
+
+    @Override
+    protected void childrenChanged() {
+        markRollupDirty();
+    }
+
+    /**
+     * Marks this equipment and its containers as needing their extended value and weights
+     * recalculated on the next call to {@link #updateExtendedValues(boolean)}.
+     */
+    private void markRollupDirty() {
+        Row row = this;
+        while (row instanceof Equipment) {
+            ((Equipment) row).mRollupDirty = true;
+            row = row.getParent();
         }
     }
 
@@ -763,11 +821,9 @@ public class Equipment extends ListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getDescription().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> pieces) {
+        pieces.add(getDescription());
+        super.addSearchText(pieces);
     }
 
     @Override
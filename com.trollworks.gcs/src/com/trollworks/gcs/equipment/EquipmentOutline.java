@@ -22,6 +22,7 @@ import com.trollworks.gcs.ui.widget.outline.ListOutline;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.MultipleRowUndo;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
+import com.trollworks.gcs.ui.widget.outline.OutlineStateEdit;
 import com.trollworks.gcs.ui.widget.outline.Row;
 import com.trollworks.gcs.ui.widget.outline.RowPostProcessor;
 import com.trollworks.gcs.ui.widget.outline.RowUndo;
@@ -285,7 +286,7 @@ public class EquipmentOutline extends ListOutline implements Incrementable, Uses
                 OutlineModel otherModel = rows[0].getOwner();
                 OutlineModel selfModel  = getModel();
                 if (selfModel != otherModel && (selfModel == carriedModel || selfModel == uncarriedModel) && (otherModel == carriedModel || otherModel == uncarriedModel)) {
-                    StateEdit   edit            = new StateEdit(otherModel, I18n.text("Remove Rows"));
+                    StateEdit   edit            = new OutlineStateEdit(otherModel, I18n.text("Remove Rows"));
                     ListOutline otherOwningList = (ListOutline) otherModel.getProperty(ListOutline.OWNING_LIST);
                     DataFile    otherDataFile   = otherOwningList.getDataFile();
                     otherModel.removeRows(rows);
@@ -0,0 +1,32 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.expression;
+
+/**
+ * The immutable result of parsing an expression. Holds either the root of the expression tree or
+ * the failure that occurred while parsing, so that bad expressions aren't re-parsed each time they
+ * are evaluated.
+ */
+class CompiledExpression {
+    final Object              mRoot;
+    final EvaluationException mFailure;
+
+    CompiledExpression(Object root) {
+        mRoot = root;
+        mFailure = null;
+    }
+
+    CompiledExpression(EvaluationException failure) {
+        mRoot = null;
+        mFailure = failure;
+    }
+}
@@ -56,16 +56,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** A simple expression evaluator. */
 public class Evaluator {
-    private static    List<Operator>                  DEFAULT_OPERATORS = new ArrayList<>();
-    private static    Map<String, ExpressionFunction> DEFAULT_FUNCTIONS = new HashMap<>();
-    private           VariableResolver                mVariableResolver;
-    private           List<Operator>                  mOperators        = new ArrayList<>();
-    private           Map<String, ExpressionFunction> mFunctions        = new HashMap<>();
-    private transient Stack<ExpressionOperator>       mOperatorStack;
-    private transient Stack<Object>                   mOperandStack;
+    private static final int                             MAX_CACHED_EXPRESSIONS = 4096;
+    private static       List<Operator>                  DEFAULT_OPERATORS      = new ArrayList<>();
+    private static       Map<String, ExpressionFunction> DEFAULT_FUNCTIONS      = new HashMap<>();
+    private static       Map<String, CompiledExpression> CACHE                  = new ConcurrentHashMap<>();
+    private              VariableResolver                mVariableResolver;
+    private              List<Operator>                  mOperators             = DEFAULT_OPERATORS;
+    private              Map<String, ExpressionFunction> mFunctions             = DEFAULT_FUNCTIONS;
 
     static {
         addDefaultOperator(new OpenParen());
@@ -110,10 +111,12 @@ public class Evaluator {
 
     public static final void addDefaultOperator(Operator operator) {
         DEFAULT_OPERATORS.add(operator);
+        CACHE.clear();
     }
 
     public static final void addDefaultFunction(ExpressionFunction function) {
         DEFAULT_FUNCTIONS.put(function.getName(), function);
+        CACHE.clear();
     }
 
     /** Creates a new Evaluator that does not do variable resolution. */
@@ -128,8 +131,6 @@ public class Evaluator {
      */
     public Evaluator(VariableResolver variableResolver) {
         mVariableResolver = variableResolver;
-        mOperators.addAll(DEFAULT_OPERATORS);
-        mFunctions.putAll(DEFAULT_FUNCTIONS);
     }
 
     /**
@@ -139,8 +140,8 @@ public class Evaluator {
      */
     public Evaluator(Evaluator other) {
         mVariableResolver = other.mVariableResolver;
-        mOperators.addAll(other.mOperators);
-        mFunctions.putAll(other.mFunctions);
+        mOperators = other.mOperators;
+        mFunctions = other.mFunctions;
     }
 
     /** @return The current variable resolver. */
@@ -159,6 +160,7 @@ public class Evaluator {
      * @param operator The {@link Operator}.
      */
     public void addOperator(Operator operator) {
+        mOperators = new ArrayList<>(mOperators);
         mOperators.add(operator);
     }
 
@@ -168,24 +170,27 @@ public class Evaluator {
      * @param function The {@link ExpressionFunction}.
      */
     public void addFunction(ExpressionFunction function) {
+        mFunctions = new HashMap<>(mFunctions);
         mFunctions.put(function.getName(), function);
     }
 
     /**
-     * Evaluate an expression and return a result.
+     * Evaluate an expression and return a result. The parsed form of the expression is retained
+     * and reused for subsequent evaluations of the same expression text, so only the first
+     * evaluation pays the cost of parsing.
      *
      * @param expression The expression to evaluate.
      * @return The result. May be a {@link String} or a {@link Double}.
      */
     public final Object evaluate(String expression) throws EvaluationException {
-        parse(expression);
-        while (!mOperatorStack.isEmpty()) {
-            processTree(mOperandStack, mOperatorStack);
+        CompiledExpression compiled = compile(expression);
+        if (compiled.mFailure != null) {
+            throw new EvaluationException(compiled.mFailure.getMessage(), compiled.mFailure);
         }
-        if (mOperandStack.isEmpty()) {
+        if (compiled.mRoot == null) {
             return "";
         }
-        return evaluateOperand(mOperandStack.pop());
+        return evaluateOperand(compiled.mRoot);
     }
 
     /**
@@ -218,16 +223,41 @@ public class Evaluator {
         }
     }
 
-    private void processTree(Stack<Object> operandStack, Stack<ExpressionOperator> operatorStack) {
+    private CompiledExpression compile(String expression) {
+        // Expressions are only shared when the default operators & functions are in use, since
+        // the result of parsing depends on them.
+        boolean shareable = mOperators == DEFAULT_OPERATORS && mFunctions == DEFAULT_FUNCTIONS;
+        if (shareable) {
+            CompiledExpression compiled = CACHE.get(expression);
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        CompiledExpression compiled;
+        try {
+            compiled = new CompiledExpression(parse(expression));
+        } catch (EvaluationException exception) {
+            compiled = new CompiledExpression(exception);
+        }
+        if (shareable) {
+            if (CACHE.size() >= MAX_CACHED_EXPRESSIONS) {
+                CACHE.clear();
+            }
+            CACHE.put(expression, compiled);
+        }
+        return compiled;
+    }
+
+    private static void processTree(Stack<Object> operandStack, Stack<ExpressionOperator> operatorStack) {
         Object rightOperand = operandStack.isEmpty() ? null : operandStack.pop();
         Object leftOperand  = operandStack.isEmpty() ? null : operandStack.pop();
-        operandStack.push(new ExpressionTree(this, leftOperand, rightOperand, operatorStack.pop().mOperator, null));
+        operandStack.push(new ExpressionTree(leftOperand, rightOperand, operatorStack.pop().mOperator, null));
     }
 
-    private void parse(String expression) throws EvaluationException {
+    private Object parse(String expression) throws EvaluationException {
         try {
-            mOperandStack = new Stack<>();
-            mOperatorStack = new Stack<>();
+            Stack<Object>             operandStack  = new Stack<>();
+            Stack<ExpressionOperator> operatorStack = new Stack<>();
             boolean  haveOperand   = false;
             boolean  haveOperator  = false;
             Operator unaryOperator = null;
@@ -245,7 +275,7 @@ public class Evaluator {
                         opIndex = nextOperator.mIndex;
                     }
                     if (opIndex > i || opIndex == -1) {
-                        i = processOperand(expression, i, opIndex, mOperandStack, unaryOperator);
+                        i = processOperand(expression, i, opIndex, operandStack, unaryOperator);
                         haveOperand = true;
                         haveOperator = false;
                         unaryOperator = null;
@@ -259,7 +289,7 @@ public class Evaluator {
                                 throw new EvaluationException(String.format(I18n.text("Consecutive unary operators are not allowed (index=%d)"), Integer.valueOf(i)));
                             }
                         } else {
-                            i = processOperator(expression, opIndex, operator, mOperatorStack, mOperandStack, haveOperand, unaryOperator);
+                            i = processOperator(expression, opIndex, operator, operatorStack, operandStack, haveOperand, unaryOperator);
                             unaryOperator = null;
                         }
                         if (!(nextOperator != null && nextOperator.mOperator instanceof CloseParen)) {
@@ -269,6 +299,10 @@ public class Evaluator {
                     }
                 }
             }
+            while (!operatorStack.isEmpty()) {
+                processTree(operandStack, operatorStack);
+            }
+            return operandStack.isEmpty() ? null : operandStack.pop();
         } catch (EvaluationException evalEx) {
             throw evalEx;
         } catch (Exception exception) {
@@ -325,7 +359,7 @@ public class Evaluator {
                 throw new EvaluationException(invalidExpressionText());
             }
             if (exop.mUnaryOperator != null) {
-                operandStack.push(new ExpressionTree(this, operandStack.pop(), null, null, exop.mUnaryOperator));
+                operandStack.push(new ExpressionTree(operandStack.pop(), null, null, exop.mUnaryOperator));
             }
         } else {
             if (!operatorStack.isEmpty()) {
@@ -408,15 +442,24 @@ public class Evaluator {
 
     final Object evaluateOperand(Object operand) throws EvaluationException {
         if (operand instanceof ExpressionTree) {
-            return ((ExpressionTree) operand).evaluate();
+            return ((ExpressionTree) operand).evaluate(this);
         } else if (operand instanceof ExpressionOperand) {
-            ExpressionOperand exop  = (ExpressionOperand) operand;
-            Object            value = replaceVariables(exop.mValue);
-            Operator          unary = exop.mUnaryOperator;
+            ExpressionOperand exop = (ExpressionOperand) operand;
+            Object            value;
+            if (exop.mNumber != null) {
+                value = exop.mNumber;
+            } else if (exop.mVariable != null) {
+                value = Double.valueOf(resolveVariable(exop.mVariable));
+            } else {
+                value = replaceVariables(exop.mValue);
+            }
+            Operator unary = exop.mUnaryOperator;
             return unary != null ? unary.evaluate(value) : value;
         } else if (operand instanceof ParsedFunction) {
+            // Variables within the arguments are not replaced here, as the functions evaluate their
+            // arguments with this evaluator, which resolves them directly.
             ParsedFunction function = (ParsedFunction) operand;
-            Object         value    = function.mFunction.execute(this, replaceVariables(function.mArguments));
+            Object         value    = function.mFunction.execute(this, function.mArguments);
             if (function.mUnaryOperator != null) {
                 value = function.mUnaryOperator.evaluate(value);
             }
@@ -427,19 +470,50 @@ public class Evaluator {
         return null;
     }
 
-    private String replaceVariables(String expression) throws EvaluationException {
-        int dollar = expression.indexOf('$');
-        while (dollar >= 0) {
-            int last = dollar;
-            int max  = expression.length();
-            for (int i = dollar + 1; i < max; i++) {
-                char ch = expression.charAt(i);
-                if (ch == '_' || ch == '.' || ch == '#' || ch >= 'A' && ch <= 'Z' || ch >= 'a' && ch <= 'z' || i != dollar + 1 && ch >= '0' && ch <= '9') {
+    private double resolveVariable(String name) throws EvaluationException {
+        double value = Double.NaN;
+        if (mVariableResolver != null) {
+            value = mVariableResolver.resolveNumericVariable(name);
+        }
+        if (Double.isNaN(value)) {
+            throw new EvaluationException(String.format(I18n.text("Unable to resolve variable $%s"), name));
+        }
+        return value;
+    }
+
+    /**
+     * @param text  The text to examine.
+     * @param start The index of the '$' that starts the variable reference.
+     * @return The index of the last character of the variable name, or {@code start} if there is no
+     *         valid variable name at that position.
+     */
+    static int variableNameLength(String text, int start) {
+        int last = start;
+        if (start < text.length() && text.charAt(start) == '$') {
+            int max = text.length();
+            for (int i = start + 1; i < max; i++) {
+                char ch = text.charAt(i);
+                if (ch == '_' || ch == '.' || ch == '#' || ch >= 'A' && ch <= 'Z' || ch >= 'a' && ch <= 'z' || i != start + 1 && ch >= '0' && ch <= '9') {
                     last = i;
                 } else {
                     break;
                 }
             }
+        }
+        return last;
+    }
+
+    /**
+     * Replaces any variable references within the text with their values.
+     *
+     * @param expression The text to process.
+     * @return The text with the variable references replaced.
+     */
+    public String replaceVariables(String expression) throws EvaluationException {
+        int dollar = expression.indexOf('$');
+        while (dollar >= 0) {
+            int last = variableNameLength(expression, dollar);
+            int max  = expression.length();
             if (dollar == last) {
                 throw new EvaluationException(String.format(I18n.text("Invalid variable at index %d"), Integer.valueOf(dollar)));
             } else {
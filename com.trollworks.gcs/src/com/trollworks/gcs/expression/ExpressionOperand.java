@@ -14,11 +14,37 @@ package com.trollworks.gcs.expression;
 import com.trollworks.gcs.expression.operator.Operator;
 
 class ExpressionOperand {
-    String   mValue;
-    Operator mUnaryOperator;
+    final String   mValue;
+    final Operator mUnaryOperator;
+    /** The pre-parsed value, if the operand is a plain number. */
+    final Double   mNumber;
+    /** The variable name, if the operand consists of nothing but a single variable reference. */
+    final String   mVariable;
 
     ExpressionOperand(String value, Operator unaryOperator) {
         mValue = value;
         mUnaryOperator = unaryOperator;
+        mNumber = isPlainNumber(value) ? Double.valueOf(value) : null;
+        mVariable = Evaluator.variableNameLength(value, 0) == value.length() - 1 ? value.substring(1) : null;
+    }
+
+    private static boolean isPlainNumber(String value) {
+        int     length  = value.length();
+        boolean decimal = false;
+        boolean digit   = false;
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch == '.') {
+                if (decimal) {
+                    return false;
+                }
+                decimal = true;
+            } else if (ch >= '0' && ch <= '9') {
+                digit = true;
+            } else {
+                return false;
+            }
+        }
+        return digit;
     }
 }
@@ -15,9 +15,9 @@ import com.trollworks.gcs.expression.function.ExpressionFunction;
 import com.trollworks.gcs.expression.operator.Operator;
 
 class ParsedFunction {
-    ExpressionFunction mFunction;
-    String             mArguments;
-    Operator           mUnaryOperator;
+    final ExpressionFunction mFunction;
+    final String             mArguments;
+    final Operator           mUnaryOperator;
 
     ParsedFunction(ExpressionFunction function, String arguments, Operator unaryOperator) {
         mFunction = function;
@@ -11,6 +11,20 @@
 
 package com.trollworks.gcs.expression;
 
+import com.trollworks.gcs.utility.text.Numbers;
+
 public interface VariableResolver {
     String resolveVariable(String variableName);
+
+    /**
+     * @param variableName The name of the variable to resolve.
+     * @return The numeric value of the variable, or {@link Double#NaN} if it cannot be resolved.
+     */
+    default double resolveNumericVariable(String variableName) {
+        String value = resolveVariable(variableName);
+        if (value == null || value.isBlank()) {
+            return Double.NaN;
+        }
+        return Numbers.extractDouble(value, Double.NaN, false);
+    }
 }
@@ -24,6 +24,7 @@ public class Roll implements ExpressionFunction {
 
     @Override
     public final Object execute(Evaluator evaluator, String arguments) throws EvaluationException {
+        arguments = evaluator.replaceVariables(arguments);
         try {
             Dice dice = new Dice(arguments);
             return Double.valueOf(dice.roll(false));
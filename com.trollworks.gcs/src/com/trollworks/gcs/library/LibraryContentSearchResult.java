@@ -0,0 +1,59 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.library;
+
+import com.trollworks.gcs.utility.FileType;
+import com.trollworks.gcs.utility.PathUtils;
+
+import java.nio.file.Path;
+import javax.swing.Icon;
+
+/** A row within a library file that matched a search of the {@link LibraryIndex}. */
+public class LibraryContentSearchResult {
+    private Path   mPath;
+    private String mName;
+    private String mListKey;
+    private int    mOrdinal;
+
+    public LibraryContentSearchResult(Path path, String name, String listKey, int ordinal) {
+        mPath = path;
+        mName = name;
+        mListKey = listKey;
+        mOrdinal = ordinal;
+    }
+
+    public String getTitle() {
+        return mName + " : " + PathUtils.getLeafName(mPath, false);
+    }
+
+    public Icon getIcon() {
+        return FileType.getIconForFileName(mPath.getFileName().toString());
+    }
+
+    /** @return The file containing the row. */
+    public Path getPath() {
+        return mPath;
+    }
+
+    /**
+     * @return The key of the list within a sheet or template that holds the row, or an empty
+     *         string for library list files, which only have one.
+     */
+    public String getListKey() {
+        return mListKey;
+    }
+
+    /** @return The position of the row within its list, counting children in depth-first order. */
+    public int getOrdinal() {
+        return mOrdinal;
+    }
+}
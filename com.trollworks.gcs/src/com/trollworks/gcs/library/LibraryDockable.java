@@ -44,6 +44,7 @@ import java.awt.EventQueue;
 import java.awt.KeyboardFocusManager;
 import java.awt.dnd.DropTarget;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import javax.swing.SwingConstants;
 import javax.swing.event.DocumentEvent;
@@ -51,13 +52,15 @@ import javax.swing.event.DocumentListener;
 
 /** A list from a library. */
 public abstract class LibraryDockable extends DataFileDockable implements RowFilter, DocumentListener, JumpToSearchTarget, RetargetableFocus, DataChangeListener, Runnable, FontAdjustable {
-    private Toolbar           mToolbar;
-    private PopupMenu<Scales> mScalesPopup;
-    private EditorField       mFilterField;
-    private PopupMenu<String> mCategoryPopup;
-    private FontIconButton    mLockButton;
-    private ListOutline       mOutline;
-    private boolean           mUpdatePending;
+    private Toolbar            mToolbar;
+    private PopupMenu<Scales>  mScalesPopup;
+    private EditorField        mFilterField;
+    private PopupMenu<String>  mCategoryPopup;
+    private FontIconButton     mLockButton;
+    private ListOutline        mOutline;
+    private boolean            mUpdatePending;
+    private LibraryFilterIndex mFilterIndex;
+    private BitSet             mUnfilteredRows;
 
     /** Creates a new LibraryDockable. */
     protected LibraryDockable(ListFile file) {
@@ -161,7 +164,8 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
     private void createCategoryPopup() {
         mCategoryPopup = new PopupMenu<>(new ArrayList<>(), (p) -> {
             if (mOutline != null) {
-                mOutline.reapplyRowFilter();
+                mUnfilteredRows = null;
+                mOutline.rowFilterChanged();
             }
         });
         adjustCategoryPopup();
@@ -191,33 +195,39 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
         mCategoryPopup.revalidate();
         mCategoryPopup.repaint();
         if (mOutline != null) {
-            mOutline.reapplyRowFilter();
+            mUnfilteredRows = null;
+            mOutline.rowFilterChanged();
         }
     }
 
     @Override
     public boolean isRowFiltered(Row row) {
-        boolean filtered = false;
-        if (row instanceof ListRow) {
-            ListRow listRow = (ListRow) row;
-            if (mCategoryPopup.getSelectedIndex() != 0) {
-                String selectedItem = mCategoryPopup.getSelectedItem();
-                if (selectedItem != null) {
-                    filtered = !listRow.getCategories().contains(selectedItem);
-                }
-            }
-            if (!filtered) {
-                String filter = mFilterField.getText();
-                if (!filter.isEmpty()) {
-                    filtered = !listRow.contains(filter.toLowerCase(), true);
-                }
-            }
+        if (!(row instanceof ListRow)) {
+            return false;
+        }
+        String category = mCategoryPopup.getSelectedIndex() != 0 ? mCategoryPopup.getSelectedItem() : null;
+        String filter   = mFilterField.getText().toLowerCase();
+        if (category == null && filter.isEmpty()) {
+            return false;
+        }
+        if (mFilterIndex == null) {
+            mFilterIndex = new LibraryFilterIndex(mOutline.getModel());
+            mUnfilteredRows = null;
+        }
+        int index = mFilterIndex.indexOf(row);
+        if (index == -1 || !mFilterIndex.isCurrent(index)) {
+            return !LibraryFilterIndex.matches((ListRow) row, category, filter);
+        }
+        if (mUnfilteredRows == null) {
+            mUnfilteredRows = mFilterIndex.match(category, filter);
         }
-        return filtered;
+        return !mUnfilteredRows.get(index);
     }
 
     @Override
     public void dataWasChanged() {
+        mFilterIndex = null;
+        mUnfilteredRows = null;
         if (!mUpdatePending) {
             mUpdatePending = true;
             EventQueue.invokeLater(this);
@@ -247,7 +257,8 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
     }
 
     private void documentChanged() {
-        mOutline.reapplyRowFilter();
+        mUnfilteredRows = null;
+        mOutline.rowFilterChanged();
     }
 
     @Override
@@ -13,6 +13,9 @@ package com.trollworks.gcs.library;
 
 import com.trollworks.gcs.advantage.AdvantageList;
 import com.trollworks.gcs.advantage.AdvantagesDockable;
+import com.trollworks.gcs.character.CollectedModels;
+import com.trollworks.gcs.character.CollectedOutlines;
+import com.trollworks.gcs.character.CollectedOutlinesDockable;
 import com.trollworks.gcs.character.GURPSCharacter;
 import com.trollworks.gcs.character.SheetDockable;
 import com.trollworks.gcs.equipment.EquipmentDockable;
@@ -41,6 +44,7 @@ import com.trollworks.gcs.ui.widget.Modal;
 import com.trollworks.gcs.ui.widget.ScrollContent;
 import com.trollworks.gcs.ui.widget.ScrollPanel;
 import com.trollworks.gcs.ui.widget.Search;
+import com.trollworks.gcs.ui.widget.SearchSnapshot;
 import com.trollworks.gcs.ui.widget.SearchTarget;
 import com.trollworks.gcs.ui.widget.Toolbar;
 import com.trollworks.gcs.ui.widget.Workspace;
@@ -80,8 +84,9 @@ import javax.swing.ListCellRenderer;
 
 /** A list of available library files. */
 public class LibraryExplorerDockable extends Dockable implements SearchTarget, Deletable, ActionListener, FontAdjustable {
-    private Search  mSearch;
-    private Outline mOutline;
+    private static final int     MAX_CONTENT_RESULTS = 100;
+    private              Search  mSearch;
+    private              Outline mOutline;
 
     public static LibraryExplorerDockable get() {
         for (Dockable dockable : Workspace.get().getDock().getDockables()) {
@@ -97,8 +102,10 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, D
         super(new BorderLayout());
         OutlineModel model = new OutlineModel();
         model.addColumn(new Column(0, "", "", new LibraryExplorerCell()));
-        LibraryDirectoryRow root = new LibraryDirectoryRow("");
-        fillTree(LibraryUpdater.collectFiles(), root);
+        LibraryDirectoryRow root  = new LibraryDirectoryRow("");
+        List<Object>        files = LibraryUpdater.collectFiles();
+        fillTree(files, root);
+        LibraryIndex.INSTANCE.update(LibraryIndex.collectPaths(files));
         transferRowsToModel(model, root);
         restoreOpenRows(model, new HashSet<>(Settings.getInstance().getLibraryExplorerOpenRowKeys()));
         mOutline = new Outline(model);
@@ -185,7 +192,9 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, D
         }
         Set<String>         openSet = collectOpenRowKeys();
         LibraryDirectoryRow root    = new LibraryDirectoryRow("");
-        fillTree(LibraryUpdater.collectFiles(), root);
+        List<Object>        files   = LibraryUpdater.collectFiles();
+        fillTree(files, root);
+        LibraryIndex.INSTANCE.update(LibraryIndex.collectPaths(files));
         transferRowsToModel(model, root);
         restoreOpenRows(model, openSet);
         restoreSelectedRows(model, selected);
@@ -501,63 +510,131 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, D
     }
 
     @Override
-    public List<Object> search(String filter) {
-        List<LibraryExplorerSearchResult> list = new ArrayList<>();
-        collect(filter.toLowerCase(), list);
-        Set<String> titles     = new HashSet<>();
-        Set<String> duplicates = new HashSet<>();
-        for (LibraryExplorerSearchResult one : list) {
-            String title = one.getTitle();
-            if (titles.contains(title)) {
-                duplicates.add(title);
-            } else {
-                titles.add(title);
-            }
-        }
-        List<Object> result = new ArrayList<>();
-        for (LibraryExplorerSearchResult one : list) {
-            if (duplicates.contains(one.getTitle())) {
-                one.useFullPath();
-            }
-            result.add(one);
-        }
-        return result;
-    }
-
-    private void collect(String text, List<LibraryExplorerSearchResult> list) {
+    public SearchSnapshot createSearchSnapshot() {
+        List<LibraryExplorerRow> rows = new ArrayList<>();
         for (Row row : mOutline.getModel().getTopLevelRows()) {
-            collect(row, text, list);
+            collect(row, rows);
+        }
+        // The names are captured here, as the rows themselves may not be touched off-thread.
+        int      count = rows.size();
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = rows.get(i).getName();
         }
+        return (filter, results) -> {
+            String                            text    = filter.toLowerCase();
+            List<LibraryExplorerSearchResult> list    = new ArrayList<>();
+            List<String>                      matched = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (results.isCancelled()) {
+                    return;
+                }
+                if (names[i].toLowerCase().contains(text)) {
+                    list.add(new LibraryExplorerSearchResult(rows.get(i)));
+                    matched.add(names[i]);
+                }
+            }
+            Set<String> titles     = new HashSet<>();
+            Set<String> duplicates = new HashSet<>();
+            for (String title : matched) {
+                if (titles.contains(title)) {
+                    duplicates.add(title);
+                } else {
+                    titles.add(title);
+                }
+            }
+            int size = list.size();
+            for (int i = 0; i < size; i++) {
+                LibraryExplorerSearchResult one = list.get(i);
+                if (duplicates.contains(matched.get(i))) {
+                    one.useFullPath();
+                }
+                results.add(one);
+            }
+            if (!results.isCancelled()) {
+                results.addAll(LibraryIndex.INSTANCE.search(filter, MAX_CONTENT_RESULTS));
+            }
+        };
     }
 
-    private static void collect(Row row, String text, List<LibraryExplorerSearchResult> list) {
+    private static void collect(Row row, List<LibraryExplorerRow> rows) {
         if (row instanceof LibraryExplorerRow) {
-            LibraryExplorerRow libRow = (LibraryExplorerRow) row;
-            if (libRow.getName().toLowerCase().contains(text)) {
-                list.add(new LibraryExplorerSearchResult(libRow));
-            }
+            rows.add((LibraryExplorerRow) row);
         }
         if (row instanceof LibraryDirectoryRow) {
             for (Row child : row.getChildren()) {
-                collect(child, text, list);
+                collect(child, rows);
             }
         }
     }
 
     @Override
     public void searchSelect(List<Object> selection) {
-        List<Row> list = new ArrayList<>();
+        List<Row>                        list    = new ArrayList<>();
+        List<LibraryContentSearchResult> content = new ArrayList<>();
         for (Object one : selection) {
             if (one instanceof LibraryExplorerSearchResult) {
                 LibraryExplorerRow row = ((LibraryExplorerSearchResult) one).getRow();
                 if (row instanceof Row) {
                     list.add((Row) row);
                 }
+            } else if (one instanceof LibraryContentSearchResult) {
+                content.add((LibraryContentSearchResult) one);
+            }
+        }
+        if (!list.isEmpty() || content.isEmpty()) {
+            mOutline.getModel().openAllParents(list);
+            mOutline.getModel().select(list, false);
+            mOutline.requestFocus();
+        }
+        for (LibraryContentSearchResult one : content) {
+            showContent(one);
+        }
+    }
+
+    private void showContent(LibraryContentSearchResult result) {
+        FileProxy proxy   = open(result.getPath());
+        Outline   outline = null;
+        if (proxy instanceof LibraryDockable) {
+            outline = ((LibraryDockable) proxy).getOutline();
+        } else if (proxy instanceof CollectedOutlinesDockable) {
+            CollectedOutlines outlines = ((CollectedOutlinesDockable) proxy).getCollectedOutlines();
+            outline = switch (result.getListKey()) {
+                case CollectedModels.KEY_ADVANTAGES -> outlines.getAdvantagesOutline();
+                case CollectedModels.KEY_SKILLS -> outlines.getSkillsOutline();
+                case CollectedModels.KEY_SPELLS -> outlines.getSpellsOutline();
+                case CollectedModels.KEY_EQUIPMENT -> outlines.getEquipmentOutline();
+                case CollectedModels.KEY_OTHER_EQUIPMENT -> outlines.getOtherEquipmentOutline();
+                case CollectedModels.KEY_NOTES -> outlines.getNotesOutline();
+                default -> null;
+            };
+        }
+        if (outline != null) {
+            Row row = findRow(outline.getModel().getTopLevelRows(), new int[]{result.getOrdinal()});
+            if (row != null) {
+                List<Row> list = new ArrayList<>();
+                list.add(row);
+                outline.getModel().openAllParents(list);
+                outline.getModel().select(row, false);
+                outline.scrollSelectionIntoView();
+                outline.requestFocus();
+            }
+        }
+    }
+
+    private static Row findRow(List<Row> rows, int[] remaining) {
+        for (Row row : rows) {
+            if (remaining[0]-- == 0) {
+                return row;
+            }
+            if (row.hasChildren()) {
+                Row found = findRow(row.getChildren(), remaining);
+                if (found != null) {
+                    return found;
+                }
             }
         }
-        mOutline.getModel().openAllParents(list);
-        mOutline.getModel().select(list, false);
-        mOutline.requestFocus();
+        return null;
     }
 
     @Override
@@ -27,6 +27,10 @@ public class LibraryExplorerRowRenderer extends LabelListCellRenderer<Object> {
             LibraryExplorerSearchResult row = (LibraryExplorerSearchResult) value;
             title = row.getTitle();
             icon = row.getRow().getIcon();
+        } else if (value instanceof LibraryContentSearchResult) {
+            LibraryContentSearchResult row = (LibraryContentSearchResult) value;
+            title = row.getTitle();
+            icon = row.getIcon();
         } else {
             title = value.toString();
             icon = null;
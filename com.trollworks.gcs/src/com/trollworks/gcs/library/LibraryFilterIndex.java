@@ -0,0 +1,176 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.library;
+
+import com.trollworks.gcs.ui.widget.outline.ListRow;
+import com.trollworks.gcs.ui.widget.outline.OutlineModel;
+import com.trollworks.gcs.ui.widget.outline.Row;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the rows in a library, used to find the rows that match a category and filter
+ * without having to examine every row. Rows are indexed by category and by each three-character
+ * sequence in their search text, so only the rows that share the least common sequence of the
+ * filter need to actually be checked. Rows that have been changed since the index was built are
+ * reported as such, so that they can be checked directly instead.
+ */
+class LibraryFilterIndex {
+    private static final int                 GRAM_LENGTH = 3;
+    private              List<ListRow>       mRows;
+    private              int[]               mChangeCounts;
+    private              Map<Row, Integer>   mIndexes;
+    private              Map<String, BitSet> mCategories;
+    private              Map<Long, int[]>    mGrams;
+
+    /** @param model The model to index the rows of. */
+    LibraryFilterIndex(OutlineModel model) {
+        mRows = new ArrayList<>();
+        mIndexes = new IdentityHashMap<>();
+        mCategories = new HashMap<>();
+        mGrams = new HashMap<>();
+        for (Row row : model.getTopLevelRows()) {
+            add(row);
+        }
+        int count = mRows.size();
+        mChangeCounts = new int[count];
+        for (int i = 0; i < count; i++) {
+            mChangeCounts[i] = mRows.get(i).getChangeCount();
+        }
+    }
+
+    private void add(Row row) {
+        if (row instanceof ListRow) {
+            ListRow listRow = (ListRow) row;
+            int     index   = mRows.size();
+            mRows.add(listRow);
+            mIndexes.put(row, Integer.valueOf(index));
+            for (String category : listRow.getCategories()) {
+                mCategories.computeIfAbsent(category, (k) -> new BitSet()).set(index);
+            }
+            String text = listRow.getSearchText();
+            for (int i = GRAM_LENGTH; i <= text.length(); i++) {
+                addGram(gram(text, i - GRAM_LENGTH), index);
+            }
+        }
+        if (row.hasChildren()) {
+            for (Row child : row.getChildren()) {
+                add(child);
+            }
+        }
+    }
+
+    private void addGram(long gram, int index) {
+        // The first slot of each posting list holds the number of rows in it
+        int[] postings = mGrams.get(Long.valueOf(gram));
+        if (postings == null) {
+            postings = new int[4];
+            mGrams.put(Long.valueOf(gram), postings);
+        } else if (postings[postings[0]] == index) {
+            return;
+        } else if (postings[0] + 1 == postings.length) {
+            postings = Arrays.copyOf(postings, postings.length * 2);
+            mGrams.put(Long.valueOf(gram), postings);
+        }
+        postings[++postings[0]] = index;
+    }
+
+    private static long gram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    /**
+     * @param row The row to look up.
+     * @return The index of the row, or -1 if the row was not present when the index was built.
+     */
+    int indexOf(Row row) {
+        Integer index = mIndexes.get(row);
+        return index != null ? index.intValue() : -1;
+    }
+
+    /**
+     * @param index The index of the row.
+     * @return {@code true} if the row has not been changed since it was indexed.
+     */
+    boolean isCurrent(int index) {
+        return mRows.get(index).getChangeCount() == mChangeCounts[index];
+    }
+
+    /**
+     * @param category The category the rows must belong to, or {@code null} for any.
+     * @param filter   The lowercase text the rows must contain, or an empty string for any.
+     * @return The indexes of the rows that match. Only meaningful for rows that are still
+     *         {@link #isCurrent(int) current}.
+     */
+    BitSet match(String category, String filter) {
+        BitSet inCategory = null;
+        if (category != null) {
+            inCategory = mCategories.get(category);
+            if (inCategory == null) {
+                return new BitSet();
+            }
+            if (filter.isEmpty()) {
+                return (BitSet) inCategory.clone();
+            }
+        }
+        BitSet result = new BitSet();
+        int[]  rarest = null;
+        for (int i = GRAM_LENGTH; i <= filter.length(); i++) {
+            int[] postings = mGrams.get(Long.valueOf(gram(filter, i - GRAM_LENGTH)));
+            if (postings == null) {
+                return result;
+            }
+            if (rarest == null || postings[0] < rarest[0]) {
+                rarest = postings;
+            }
+        }
+        if (rarest != null) {
+            for (int i = 1; i <= rarest[0]; i++) {
+                check(rarest[i], inCategory, filter, result);
+            }
+        } else if (inCategory != null) {
+            for (int i = inCategory.nextSetBit(0); i >= 0; i = inCategory.nextSetBit(i + 1)) {
+                check(i, null, filter, result);
+            }
+        } else {
+            for (int i = mRows.size() - 1; i >= 0; i--) {
+                check(i, null, filter, result);
+            }
+        }
+        return result;
+    }
+
+    private void check(int index, BitSet inCategory, String filter, BitSet result) {
+        if ((inCategory == null || inCategory.get(index)) && mRows.get(index).contains(filter, true)) {
+            result.set(index);
+        }
+    }
+
+    /**
+     * @param row      The row to check.
+     * @param category The category the row must belong to, or {@code null} for any.
+     * @param filter   The lowercase text the row must contain, or an empty string for any.
+     * @return {@code true} if the row matches.
+     */
+    static boolean matches(ListRow row, String category, String filter) {
+        if (category != null && !row.getCategories().contains(category)) {
+            return false;
+        }
+        return filter.isEmpty() || row.contains(filter, true);
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.library;
+
+import com.trollworks.gcs.character.CollectedModels;
+import com.trollworks.gcs.datafile.DataFile;
+import com.trollworks.gcs.settings.Settings;
+import com.trollworks.gcs.utility.FileType;
+import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.PathUtils;
+import com.trollworks.gcs.utility.json.Json;
+import com.trollworks.gcs.utility.json.JsonArray;
+import com.trollworks.gcs.utility.json.JsonMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A full-text index of the rows within the library files, so that the files defining a given
+ * advantage, skill, piece of equipment, etc. can be found without opening each one in turn. The
+ * names, tags and page references of the rows are indexed. The index is kept on disk next to the
+ * settings and brought up-to-date in the background, re-parsing only those files whose
+ * modification time has changed.
+ */
+public final class LibraryIndex {
+    public static final  LibraryIndex INSTANCE           = new LibraryIndex();
+    private static final int          FORMAT_VERSION     = 1;
+    private static final int          MAX_TITLE_LENGTH   = 100;
+    private static final int          MIN_QUERY_LENGTH   = 2;
+    private static final String       FILE_NAME          = "gcs_library_index.bin";
+    private static final String       KEY_ROWS           = "rows";
+    private static final String       KEY_CHILDREN       = "children";
+    private static final String       KEY_NAME           = "name";
+    private static final String       KEY_DESCRIPTION    = "description";
+    private static final String       KEY_TEXT           = "text";
+    private static final String       KEY_SPECIALIZATION = "specialization";
+    private static final String       KEY_CATEGORIES     = "categories";
+    private static final String       KEY_REFERENCE      = "reference";
+    private static final String[]     COLLECTED_KEYS     = {CollectedModels.KEY_ADVANTAGES, CollectedModels.KEY_SKILLS, CollectedModels.KEY_SPELLS, CollectedModels.KEY_EQUIPMENT, CollectedModels.KEY_OTHER_EQUIPMENT, CollectedModels.KEY_NOTES};
+
+    private          ExecutorService      mQueue;
+    private          List<Path>           mFiles;
+    private          boolean              mUpdatePending;
+    private          Map<Path, FileEntry> mEntries;
+    private volatile Snapshot             mSnapshot;
+
+    private LibraryIndex() {
+        mQueue = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Library Indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        mSnapshot = new Snapshot(List.of());
+    }
+
+    /**
+     * Schedules an update of the index in the background.
+     *
+     * @param files The library files that should be in the index.
+     */
+    public void update(List<Path> files) {
+        synchronized (this) {
+            mFiles = new ArrayList<>(files);
+        }
+        update();
+    }
+
+    /**
+     * Schedules an update of the index in the background, using the files from the last call to
+     * {@link #update(List)}. Any number of requests made before the update starts are handled by
+     * a single pass.
+     */
+    public void update() {
+        synchronized (this) {
+            if (mFiles == null || mUpdatePending) {
+                return;
+            }
+            mUpdatePending = true;
+        }
+        mQueue.execute(this::process);
+    }
+
+    /**
+     * @param lists The nested lists of library files, as returned by {@link
+     *              LibraryUpdater#collectFiles()}.
+     * @return The library files within the lists.
+     */
+    public static List<Path> collectPaths(List<?> lists) {
+        List<Path> paths = new ArrayList<>();
+        collectPaths(lists, paths);
+        return paths;
+    }
+
+    private static void collectPaths(List<?> lists, List<Path> paths) {
+        int count = lists.size();
+        for (int i = 1; i < count; i++) {
+            Object entry = lists.get(i);
+            if (entry instanceof List<?>) {
+                collectPaths((List<?>) entry, paths);
+            } else {
+                paths.add((Path) entry);
+            }
+        }
+    }
+
+    /**
+     * @param filter The text to search for. Each word must match the start of a word in a row's
+     *               name, tags or page reference.
+     * @param max    The maximum number of results to return.
+     * @return The matching rows, in library order.
+     */
+    public List<LibraryContentSearchResult> search(String filter, int max) {
+        List<LibraryContentSearchResult> results = new ArrayList<>();
+        if (filter.trim().length() >= MIN_QUERY_LENGTH) {
+            Snapshot snapshot = mSnapshot;
+            BitSet   matches  = null;
+            for (String word : tokenize(filter)) {
+                BitSet bits  = new BitSet(snapshot.mItems.length);
+                int    index = Arrays.binarySearch(snapshot.mWords, word);
+                if (index < 0) {
+                    index = -(index + 1);
+                }
+                while (index < snapshot.mWords.length && snapshot.mWords[index].startsWith(word)) {
+                    for (int id : snapshot.mPostings[index]) {
+                        bits.set(id);
+                    }
+                    index++;
+                }
+                if (matches == null) {
+                    matches = bits;
+                } else {
+                    matches.and(bits);
+                }
+            }
+            if (matches != null) {
+                for (int id = matches.nextSetBit(0); id >= 0 && results.size() < max; id = matches.nextSetBit(id + 1)) {
+                    Item item = snapshot.mItems[id];
+                    results.add(new LibraryContentSearchResult(item.mPath, item.mTitle, item.mList, item.mOrdinal));
+                }
+            }
+        }
+        return results;
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String>   words  = new LinkedHashSet<>();
+        StringBuilder buffer = new StringBuilder();
+        int           length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char ch = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(ch)) {
+                buffer.append(Character.toLowerCase(ch));
+            } else if (!buffer.isEmpty()) {
+                words.add(buffer.toString());
+                buffer.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    /** Called on the indexer thread. */
+    private void process() {
+        List<Path> files;
+        synchronized (this) {
+            files = mFiles;
+            mUpdatePending = false;
+        }
+        boolean changed = false;
+        if (mEntries == null) {
+            mEntries = load();
+            changed = true;
+        }
+        Map<Path, FileEntry> entries = new LinkedHashMap<>();
+        boolean              dirty   = false;
+        for (Path path : files) {
+            long modified;
+            try {
+                modified = Files.getLastModifiedTime(path).toMillis();
+            } catch (IOException exception) {
+                continue; // Removed since the list was gathered
+            }
+            FileEntry entry = mEntries.get(path);
+            if (entry == null || entry.mModified != modified) {
+                entry = parse(path, modified);
+                dirty = true;
+            }
+            entries.put(path, entry);
+        }
+        if (dirty || entries.size() != mEntries.size()) {
+            save(entries.values());
+            changed = true;
+        }
+        mEntries = entries;
+        if (changed) {
+            mSnapshot = new Snapshot(entries.values());
+        }
+    }
+
+    private static FileEntry parse(Path path, long modified) {
+        FileEntry entry = new FileEntry(path, modified);
+        String    ext   = PathUtils.getExtension(path);
+        if (!FileType.PDF.matchExtension(ext)) {
+            try {
+                JsonMap m = Json.asMap(Json.parse(path));
+                if (FileType.SHEET.matchExtension(ext) || FileType.TEMPLATE.matchExtension(ext)) {
+                    for (String key : COLLECTED_KEYS) {
+                        collect(entry, key, m.getArray(key), new int[1]);
+                    }
+                } else {
+                    collect(entry, "", m.getArray(KEY_ROWS), new int[1]);
+                }
+            } catch (Exception exception) {
+                // Files that can't be read are left out of the index, but are still tracked so
+                // that they aren't retried until they change.
+                entry.mWords.clear();
+                entry.mItems.clear();
+            }
+        }
+        entry.freeze();
+        return entry;
+    }
+
+    private static void collect(FileEntry entry, String list, JsonArray a, int[] ordinal) {
+        int count = a.size();
+        for (int i = 0; i < count; i++) {
+            JsonMap m    = a.getMap(i);
+            String  name = m.getStringWithDefault(KEY_NAME, "");
+            if (name.isBlank()) {
+                name = m.getStringWithDefault(KEY_DESCRIPTION, "");
+                if (name.isBlank()) {
+                    name = m.getStringWithDefault(KEY_TEXT, "");
+                }
+            }
+            Set<String> words = tokenize(name);
+            String      spec  = m.getStringWithDefault(KEY_SPECIALIZATION, "");
+            String      title = name.trim();
+            if (!spec.isBlank()) {
+                words.addAll(tokenize(spec));
+                title += " (" + spec.trim() + ")";
+            }
+            JsonArray categories = m.getArray(KEY_CATEGORIES);
+            int       catCount   = categories.size();
+            for (int j = 0; j < catCount; j++) {
+                words.addAll(tokenize(categories.getString(j)));
+            }
+            words.addAll(tokenize(m.getStringWithDefault(KEY_REFERENCE, "")));
+            int eol = title.indexOf('\n');
+            if (eol != -1) {
+                title = title.substring(0, eol).trim();
+            }
+            if (title.length() > MAX_TITLE_LENGTH) {
+                title = title.substring(0, MAX_TITLE_LENGTH) + "…";
+            }
+            entry.add(title, list, ordinal[0]++, words);
+            // Only containers have their children loaded, so skip any others to keep the ordinals
+            // matching the rows that actually exist
+            if (m.getString(DataFile.TYPE).endsWith("_container") && m.has(KEY_CHILDREN)) {
+                collect(entry, list, m.getArray(KEY_CHILDREN), ordinal);
+            }
+        }
+    }
+
+    private static Path getIndexPath() {
+        return Settings.getSettingsDir().resolve(FILE_NAME);
+    }
+
+    private static Map<Path, FileEntry> load() {
+        Map<Path, FileEntry> entries = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(getIndexPath())))) {
+            if (in.readInt() == FORMAT_VERSION) {
+                int fileCount = in.readInt();
+                for (int i = 0; i < fileCount; i++) {
+                    FileEntry entry = new FileEntry(Path.of(in.readUTF()), in.readLong());
+                    entry.read(in);
+                    entries.put(entry.mPath, entry);
+                }
+            }
+        } catch (NoSuchFileException exception) {
+            // Nothing has been indexed yet
+        } catch (Exception exception) {
+            // A damaged index just means starting over
+            Log.warn(exception);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private static void save(Collection<FileEntry> entries) {
+        Path path = getIndexPath();
+        Path temp = path.resolveSibling(FILE_NAME + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(entries.size());
+                for (FileEntry entry : entries) {
+                    entry.write(out);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            Log.error(exception);
+        }
+    }
+
+    /** The indexed rows of a single file. */
+    private static class FileEntry {
+        Path                 mPath;
+        long                 mModified;
+        Map<String, Integer> mWordIDs = new HashMap<>();
+        List<String>         mWords   = new ArrayList<>();
+        List<Item>           mItems   = new ArrayList<>();
+
+        FileEntry(Path path, long modified) {
+            mPath = path;
+            mModified = modified;
+        }
+
+        void add(String title, String list, int ordinal, Collection<String> words) {
+            int[] ids   = new int[words.size()];
+            int   index = 0;
+            for (String word : words) {
+                Integer id = mWordIDs.get(word);
+                if (id == null) {
+                    id = Integer.valueOf(mWords.size());
+                    mWordIDs.put(word, id);
+                    mWords.add(word);
+                }
+                ids[index++] = id.intValue();
+            }
+            mItems.add(new Item(mPath, title, list, ordinal, ids));
+        }
+
+        /** Releases the data only needed while the entry is being built. */
+        void freeze() {
+            mWordIDs = null;
+        }
+
+        void read(DataInputStream in) throws IOException {
+            int wordCount = in.readInt();
+            for (int i = 0; i < wordCount; i++) {
+                mWords.add(in.readUTF());
+            }
+            int itemCount = in.readInt();
+            for (int i = 0; i < itemCount; i++) {
+                String title   = in.readUTF();
+                String list    = in.readUTF();
+                int    ordinal = in.readInt();
+                int[]  ids     = new int[in.readInt()];
+                for (int j = 0; j < ids.length; j++) {
+                    ids[j] = in.readInt();
+                }
+                mItems.add(new Item(mPath, title, list, ordinal, ids));
+            }
+            freeze();
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(mPath.toString());
+            out.writeLong(mModified);
+            out.writeInt(mWords.size());
+            for (String word : mWords) {
+                out.writeUTF(word);
+            }
+            out.writeInt(mItems.size());
+            for (Item item : mItems) {
+                out.writeUTF(item.mTitle);
+                out.writeUTF(item.mList);
+                out.writeInt(item.mOrdinal);
+                out.writeInt(item.mWords.length);
+                for (int id : item.mWords) {
+                    out.writeInt(id);
+                }
+            }
+        }
+    }
+
+    /** A single indexed row. */
+    private static class Item {
+        Path   mPath;
+        String mTitle;
+        String mList;
+        int    mOrdinal;
+        int[]  mWords;
+
+        Item(Path path, String title, String list, int ordinal, int[] words) {
+            mPath = path;
+            mTitle = title;
+            mList = list;
+            mOrdinal = ordinal;
+            mWords = words;
+        }
+    }
+
+    /** An immutable inverted index over all of the indexed rows, for searching. */
+    private static class Snapshot {
+        Item[]   mItems;
+        String[] mWords;
+        int[][]  mPostings;
+
+        Snapshot(Collection<FileEntry> entries) {
+            List<Item>             items    = new ArrayList<>();
+            Map<String, IntBuffer> postings = new HashMap<>();
+            for (FileEntry entry : entries) {
+                for (Item item : entry.mItems) {
+                    int id = items.size();
+                    items.add(item);
+                    for (int word : item.mWords) {
+                        postings.computeIfAbsent(entry.mWords.get(word), k -> new IntBuffer()).add(id);
+                    }
+                }
+            }
+            mItems = items.toArray(new Item[0]);
+            mWords = postings.keySet().toArray(new String[0]);
+            Arrays.sort(mWords);
+            mPostings = new int[mWords.length][];
+            for (int i = 0; i < mWords.length; i++) {
+                mPostings[i] = postings.get(mWords[i]).toArray();
+            }
+        }
+    }
+
+    private static class IntBuffer {
+        int[] mValues = new int[4];
+        int   mCount;
+
+        void add(int value) {
+            if (mCount == mValues.length) {
+                mValues = Arrays.copyOf(mValues, mCount * 2);
+            }
+            mValues[mCount++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(mValues, mCount);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.util.HashMap;
@@ -46,29 +47,44 @@ public final class LibraryWatcher implements Runnable {
             return;
         }
         while (true) {
-            WatchKey key;
+            boolean structural;
             try {
-                key = mWatcher.take();
-                key.pollEvents();
-                key.reset();
+                WatchKey key = mWatcher.take();
+                structural = processEvents(key);
                 while (true) {
                     key = mWatcher.poll();
                     if (key == null) {
                         break;
                     }
-                    key.pollEvents();
-                    key.reset();
+                    structural |= processEvents(key);
                 }
             } catch (InterruptedException iex) {
                 return;
             }
-            SwingUtilities.invokeLater(() -> {
-                LibraryExplorerDockable explorer = LibraryExplorerDockable.get();
-                if (explorer != null) {
-                    explorer.refresh();
-                }
-            });
+            if (structural) {
+                // Refreshing the explorer also updates the index
+                SwingUtilities.invokeLater(() -> {
+                    LibraryExplorerDockable explorer = LibraryExplorerDockable.get();
+                    if (explorer != null) {
+                        explorer.refresh();
+                    }
+                });
+            } else {
+                LibraryIndex.INSTANCE.update();
+            }
+        }
+    }
+
+    /** @return {@code true} if files were added or removed, rather than just modified. */
+    private static boolean processEvents(WatchKey key) {
+        boolean structural = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY) {
+                structural = true;
+            }
         }
+        key.reset();
+        return structural;
     }
 
     public void watchDirs(Set<Path> dirs) {
@@ -80,7 +96,7 @@ public final class LibraryWatcher implements Runnable {
             WatchKey key = mPathKeyMap.get(p);
             if (key == null) {
                 try {
-                    keep.put(p, p.register(mWatcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE));
+                    keep.put(p, p.register(mWatcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY));
                 } catch (IOException exception) {
                     Log.error(exception);
                 }
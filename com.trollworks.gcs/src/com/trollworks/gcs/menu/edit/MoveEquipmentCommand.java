@@ -22,6 +22,7 @@ import com.trollworks.gcs.ui.widget.outline.ListOutline;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.OutlineProxy;
+import com.trollworks.gcs.ui.widget.outline.OutlineStateEdit;
 import com.trollworks.gcs.ui.widget.outline.Row;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.undo.MultipleUndo;
@@ -88,8 +89,8 @@ public class MoveEquipmentCommand extends Command {
             ((ListOutline) from.getProperty(ListOutline.OWNING_LIST)).postUndo(undo);
             List<Row>     rows    = new ArrayList<>();
             List<ListRow> topRows = new ArrayList<>();
-            StateEdit     edit1   = new StateEdit(from, getTitle(toCarried));
-            StateEdit     edit2   = new StateEdit(to, getTitle(toCarried));
+            StateEdit     edit1   = new OutlineStateEdit(from, getTitle(toCarried));
+            StateEdit     edit2   = new OutlineStateEdit(to, getTitle(toCarried));
             to.setDragRows(from.getSelectionAsList(true).toArray(new Row[0]));
             ListOutline toOutline = (ListOutline) to.getProperty(ListOutline.OWNING_LIST);
             toOutline.convertDragRowsToSelf(rows);
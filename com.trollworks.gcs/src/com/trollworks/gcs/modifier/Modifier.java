@@ -21,6 +21,7 @@ import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -168,11 +169,9 @@ public abstract class Modifier extends ListRow implements Comparable<Modifier>,
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> pieces) {
+        pieces.add(getName());
+        super.addSearchText(pieces);
     }
 
     @Override
@@ -11,6 +11,7 @@
 
 package com.trollworks.gcs.pageref;
 
+import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import com.trollworks.gcs.utility.PathUtils;
@@ -27,21 +28,31 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public final class PDFServer {
     private static       HttpServer          SERVER;
     private static final DateTimeFormatter   DATE_TIME_FORMATTER    = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss z", Locale.ENGLISH).withZone(ZoneId.of("GMT"));
     private static final Instant             RESOURCE_LAST_MODIFIED = Instant.now();
     private static final Map<String, byte[]> CACHE                  = new HashMap<>();
+    private static final int                 MAX_THREADS            = 4;
     private static       int                 PORT;
 
     private PDFServer() {
@@ -51,6 +62,15 @@ public final class PDFServer {
         if (SERVER == null) {
             HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
             server.createContext("/", PDFServer::handleRequest);
+            // The default executor handles one request at a time, which leaves a second page
+            // reference waiting behind the first one's download.
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "PDFServer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            server.setExecutor(executor);
             server.start();
             SERVER = server;
             PORT = server.getAddress().getPort();
@@ -91,29 +111,7 @@ public final class PDFServer {
                     notFound(httpExchange);
                     return;
                 }
-                long    size;
-                Instant instant;
-                try {
-                    size = Files.size(p);
-                    instant = Files.getLastModifiedTime(p).toInstant();
-                } catch (IOException ex) {
-                    notFound(httpExchange);
-                    return;
-                }
-                int expiresInSeconds = 12 * 60 * 60; // 12 hours
-                httpExchange.getResponseHeaders().add("Content-Type", contentType);
-                httpExchange.getResponseHeaders().add("Content-Length", Long.toString(size));
-                httpExchange.getResponseHeaders().add("Last-Modified", DATE_TIME_FORMATTER.format(instant));
-                httpExchange.getResponseHeaders().add("Expires", DATE_TIME_FORMATTER.format(Instant.now().plusSeconds(expiresInSeconds)));
-                httpExchange.getResponseHeaders().add("Cache-Control", "max-age=" + expiresInSeconds);
-                httpExchange.sendResponseHeaders(200, size);
-                if ("HEAD".equals(httpExchange.getRequestMethod())) {
-                    httpExchange.getResponseBody().close();
-                } else {
-                    try (OutputStream out = httpExchange.getResponseBody()) {
-                        Files.copy(p, out);
-                    }
-                }
+                servePDF(httpExchange, p, contentType);
                 return;
             }
             String path = p.toString();
@@ -140,6 +138,9 @@ public final class PDFServer {
                 notFound(httpExchange);
                 return;
             }
+            if (notModified(httpExchange, RESOURCE_LAST_MODIFIED)) {
+                return;
+            }
             int expiresInSeconds = 12 * 60 * 60; // 12 hours
             httpExchange.getResponseHeaders().add("Content-Type", contentType);
             httpExchange.getResponseHeaders().add("Content-Length", Integer.toString(data.length));
@@ -159,6 +160,134 @@ public final class PDFServer {
         }
     }
 
+    private static void servePDF(HttpExchange httpExchange, Path p, String contentType) throws IOException {
+        try (FileChannel channel = FileChannel.open(p, StandardOpenOption.READ)) {
+            long    size    = channel.size();
+            Instant instant = Files.getLastModifiedTime(p).toInstant();
+            if (notModified(httpExchange, instant)) {
+                return;
+            }
+            Headers headers          = httpExchange.getResponseHeaders();
+            String  lastModified     = DATE_TIME_FORMATTER.format(instant);
+            int     expiresInSeconds = 12 * 60 * 60; // 12 hours
+            headers.add("Content-Type", contentType);
+            headers.add("Accept-Ranges", "bytes");
+            headers.add("Last-Modified", lastModified);
+            headers.add("Expires", DATE_TIME_FORMATTER.format(Instant.now().plusSeconds(expiresInSeconds)));
+            headers.add("Cache-Control", "max-age=" + expiresInSeconds);
+            long start  = 0;
+            long length = size;
+            int  code   = 200;
+            // pdf.js requests the parts of the file it needs to show the current page, so honor a
+            // single byte range. Anything fancier gets the whole file, as the spec permits.
+            String range   = httpExchange.getRequestHeaders().getFirst("Range");
+            String ifRange = httpExchange.getRequestHeaders().getFirst("If-Range");
+            if (range != null && (ifRange == null || ifRange.equals(lastModified))) {
+                long[] bounds = parseRange(range, size);
+                if (bounds != null) {
+                    if (bounds[0] >= size || bounds[0] > bounds[1]) {
+                        headers.add("Content-Range", "bytes */" + size);
+                        respond(httpExchange, 416, null);
+                        return;
+                    }
+                    start = bounds[0];
+                    length = bounds[1] - start + 1;
+                    code = 206;
+                    headers.add("Content-Range", "bytes " + start + "-" + bounds[1] + "/" + size);
+                }
+            }
+            headers.add("Content-Length", Long.toString(length));
+            if ("HEAD".equals(httpExchange.getRequestMethod())) {
+                httpExchange.sendResponseHeaders(code, -1);
+                httpExchange.getResponseBody().close();
+                return;
+            }
+            httpExchange.sendResponseHeaders(code, length);
+            try (OutputStream out = httpExchange.getResponseBody()) {
+                WritableByteChannel target = Channels.newChannel(out);
+                while (length > 0) {
+                    long amt = channel.transferTo(start, length, target);
+                    if (amt <= 0) {
+                        break;
+                    }
+                    start += amt;
+                    length -= amt;
+                }
+            }
+        } catch (IOException ioe) {
+            if (httpExchange.getResponseCode() == -1) {
+                notFound(httpExchange);
+            } else {
+                throw ioe;
+            }
+        }
+    }
+
+    /**
+     * @param range The value of a Range header.
+     * @param size  The size of the resource.
+     * @return The first and last byte positions requested, inclusive, with the last position
+     *         clamped to the resource, or {@code null} if the header isn't a single byte range that
+     *         can be understood. A first position beyond the last denotes an unsatisfiable range.
+     */
+    private static long[] parseRange(String range, long size) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') != -1) {
+            return null;
+        }
+        String spec  = range.substring(6).trim();
+        int    index = spec.indexOf('-');
+        if (index == -1) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, index).trim();
+            String last  = spec.substring(index + 1).trim();
+            if (first.isEmpty()) {
+                // A suffix range, i.e. the final N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return new long[]{size, size - 1};
+                }
+                return new long[]{Math.max(size - suffix, 0), size - 1};
+            }
+            long start = Long.parseLong(first);
+            if (last.isEmpty()) {
+                return new long[]{start, size - 1};
+            }
+            long end = Long.parseLong(last);
+            if (end < start) {
+                return null;
+            }
+            return new long[]{start, Math.min(end, size - 1)};
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+    }
+
+    /**
+     * Sends a 304 response if the request's If-Modified-Since header shows the client already has
+     * the current content.
+     *
+     * @return {@code true} if the response was sent.
+     */
+    private static boolean notModified(HttpExchange httpExchange, Instant lastModified) throws IOException {
+        String since = httpExchange.getRequestHeaders().getFirst("If-Modified-Since");
+        if (since != null) {
+            try {
+                // Last-Modified only has a resolution of seconds
+                if (!lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(Instant.from(DATE_TIME_FORMATTER.parse(since)))) {
+                    httpExchange.getResponseHeaders().add("Last-Modified", DATE_TIME_FORMATTER.format(lastModified));
+                    httpExchange.sendResponseHeaders(304, -1);
+                    httpExchange.getResponseBody().close();
+                    return true;
+                }
+            } catch (DateTimeException exception) {
+                // Ignore it and send the full response
+            }
+        }
+        return false;
+    }
+
     public static String encodeQueryParam(String str) {
         StringBuilder buffer = new StringBuilder();
         byte[]        bytes  = str.getBytes(StandardCharsets.UTF_8);
@@ -208,9 +337,9 @@ public final class PDFServer {
         int     size   = body != null ? body.length : 0;
         if (isHead) {
             httpExchange.getResponseHeaders().add("Content-Length", Integer.toString(size));
-            size = -1;
         }
-        httpExchange.sendResponseHeaders(code, size);
+        // A length of 0 asks for a chunked body, while -1 declares there isn't one
+        httpExchange.sendResponseHeaders(code, isHead || body == null ? -1 : size);
         try (OutputStream out = httpExchange.getResponseBody()) {
             if (!isHead && body != null) {
                 out.write(body);
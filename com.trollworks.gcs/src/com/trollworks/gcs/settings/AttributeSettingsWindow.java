@@ -116,7 +116,7 @@ public final class AttributeSettingsWindow extends SettingsWindow<Map<String, At
 
     @Override
     protected Panel createContent() {
-        mListPanel = new AttributeListPanel(SheetSettings.get(mCharacter).getAttributes(), () -> {
+        mListPanel = new AttributeListPanel(SheetSettings.get(mCharacter).getAttributesForEditing(), () -> {
             adjustResetButton();
             if (mCharacter == null) {
                 Settings.getInstance().notifyOfChange();
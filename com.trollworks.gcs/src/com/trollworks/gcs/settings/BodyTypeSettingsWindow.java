@@ -101,8 +101,8 @@ public final class BodyTypeSettingsWindow extends SettingsWindow<HitLocationTabl
 
     @Override
     protected Panel createContent() {
-        mLocationsPanel = new BodyTypePanel(SheetSettings.get(mCharacter).getHitLocations(), () -> {
-            SheetSettings.get(mCharacter).getHitLocations().update();
+        mLocationsPanel = new BodyTypePanel(SheetSettings.get(mCharacter).getHitLocationsForEditing(), () -> {
+            SheetSettings.get(mCharacter).getHitLocationsForEditing().update();
             if (mCharacter == null) {
                 Settings.getInstance().notifyOfChange();
             } else {
@@ -108,6 +108,11 @@ public final class Settings extends ChangeableData {
     }
 
     private static Path getPreferencesPath() {
+        return getSettingsDir().resolve("gcs.json");
+    }
+
+    /** @return The directory the settings and other per-user data files are stored in. */
+    public static Path getSettingsDir() {
         String homeDir = System.getProperty("user.home", ".");
         Path   path;
         if (Platform.isMacintosh()) {
@@ -118,7 +123,7 @@ public final class Settings extends ChangeableData {
         } else {
             path = Path.of(homeDir, ".config");
         }
-        return path.resolve("gcs.json").normalize().toAbsolutePath();
+        return path.normalize().toAbsolutePath();
     }
 
     private Settings() {
@@ -33,12 +33,15 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 public class SheetSettings implements ChangeNotifier {
     public static final  String KEY_ATTRIBUTES                    = "attributes";
@@ -67,6 +70,12 @@ public class SheetSettings implements ChangeNotifier {
     private static final String DEPRECATED_KEY_USE_REDUCED_SWING               = "use_reduced_swing";
     private static final String DEPRECATED_KEY_USE_THRUST_EQUALS_SWING_MINUS_2 = "use_thrust_equals_swing_minus_2";
 
+    // Most sheets use the same attributes and body type, so equal copies of these are interned and
+    // shared between settings until one of them needs to edit its own. Shared copies are made
+    // read-only, so that an edit can't leak into other sheets or alter their hash in these tables.
+    private static final Map<Map<String, AttributeDef>, WeakReference<Map<String, AttributeDef>>> SHARED_ATTRIBUTES    = new WeakHashMap<>();
+    private static final Map<HitLocationTable, WeakReference<HitLocationTable>>                   SHARED_HIT_LOCATIONS = new WeakHashMap<>();
+
     private GURPSCharacter            mCharacter;
     private LengthUnits               mDefaultLengthUnits;
     private WeightUnits               mDefaultWeightUnits;
@@ -76,7 +85,9 @@ public class SheetSettings implements ChangeNotifier {
     private DisplayOption             mNotesDisplay;
     private DisplayOption             mSkillLevelAdjustmentsDisplay;
     private Map<String, AttributeDef> mAttributes;
+    private boolean                   mAttributesShared;
     private HitLocationTable          mHitLocations;
+    private boolean                   mHitLocationsShared;
     private PageSettings              mPageSettings;
     private DamageProgression         mDamageProgression;
     private boolean                   mUseMultiplicativeModifiers; // P102
@@ -135,8 +146,8 @@ public class SheetSettings implements ChangeNotifier {
         mModifiersDisplay = other.mModifiersDisplay;
         mNotesDisplay = other.mNotesDisplay;
         mSkillLevelAdjustmentsDisplay = other.mSkillLevelAdjustmentsDisplay;
-        mAttributes = AttributeDef.cloneMap(other.mAttributes);
-        mHitLocations = other.mHitLocations.clone();
+        setSharedAttributes(other.mAttributes, false);
+        setSharedHitLocations(other.mHitLocations, false);
         mPageSettings = new PageSettings(this, other.mPageSettings);
         mUseMultiplicativeModifiers = other.mUseMultiplicativeModifiers;
         mUseModifyingDicePlusAdds = other.mUseModifyingDicePlusAdds;
@@ -168,8 +179,8 @@ public class SheetSettings implements ChangeNotifier {
             mModifiersDisplay = DisplayOption.INLINE;
             mNotesDisplay = DisplayOption.INLINE;
             mSkillLevelAdjustmentsDisplay = DisplayOption.TOOLTIP;
-            mAttributes = AttributeDef.createStandardAttributes();
-            mHitLocations = HitLocationTable.createHumanoidTable();
+            setSharedAttributes(AttributeDef.createStandardAttributes(), true);
+            setSharedHitLocations(HitLocationTable.createHumanoidTable(), true);
             mPageSettings = new PageSettings(this);
             mUseMultiplicativeModifiers = false;
             mUseModifyingDicePlusAdds = false;
@@ -215,10 +226,10 @@ public class SheetSettings implements ChangeNotifier {
         mShowSpellAdj = m.getBooleanWithDefault(KEY_SHOW_SPELL_ADJ, mShowSpellAdj);
         mUseTitleInFooter = m.getBooleanWithDefault(KEY_USE_TITLE_IN_FOOTER, mUseTitleInFooter);
         if (m.has(KEY_ATTRIBUTES)) {
-            mAttributes = AttributeDef.load(m.getArray(KEY_ATTRIBUTES));
+            setSharedAttributes(AttributeDef.load(m.getArray(KEY_ATTRIBUTES)), true);
         }
         if (m.has(KEY_HIT_LOCATIONS)) {
-            mHitLocations = new HitLocationTable(m.getMap(KEY_HIT_LOCATIONS));
+            setSharedHitLocations(new HitLocationTable(m.getMap(KEY_HIT_LOCATIONS)), true);
         }
         if (m.has(KEY_PAGE)) {
             mPageSettings.load(m.getMap(KEY_PAGE));
@@ -483,28 +494,91 @@ public class SheetSettings implements ChangeNotifier {
         }
     }
 
+    /**
+     * @return The attribute definitions. These may be shared with other settings, in which case
+     *         they are read-only.
+     */
     public Map<String, AttributeDef> getAttributes() {
         return mAttributes;
     }
 
+    /**
+     * @return The attribute definitions, first copied if they are currently shared with other
+     *         settings, so that they may be modified.
+     */
+    public Map<String, AttributeDef> getAttributesForEditing() {
+        if (mAttributesShared) {
+            mAttributes = AttributeDef.cloneMap(mAttributes);
+            mAttributesShared = false;
+        }
+        return mAttributes;
+    }
+
     public void setAttributes(Map<String, AttributeDef> attributes) {
         if (!mAttributes.equals(attributes)) {
-            mAttributes = AttributeDef.cloneMap(attributes);
+            setSharedAttributes(attributes, false);
             notifyOfChange();
         }
     }
 
+    private void setSharedAttributes(Map<String, AttributeDef> attributes, boolean owned) {
+        synchronized (SHARED_ATTRIBUTES) {
+            WeakReference<Map<String, AttributeDef>> ref    = SHARED_ATTRIBUTES.get(attributes);
+            Map<String, AttributeDef>                shared = ref != null ? ref.get() : null;
+            if (shared == null) {
+                Map<String, AttributeDef> copy = owned ? attributes : AttributeDef.cloneMap(attributes);
+                for (AttributeDef def : copy.values()) {
+                    def.makeReadOnly();
+                }
+                shared = Collections.unmodifiableMap(copy);
+                SHARED_ATTRIBUTES.put(shared, new WeakReference<>(shared));
+            }
+            mAttributes = shared;
+            mAttributesShared = true;
+        }
+    }
+
+    /**
+     * @return The body type. This may be shared with other settings, in which case it is
+     *         read-only.
+     */
     public HitLocationTable getHitLocations() {
         return mHitLocations;
     }
 
+    /**
+     * @return The body type, first copied if it is currently shared with other settings, so that
+     *         it may be modified.
+     */
+    public HitLocationTable getHitLocationsForEditing() {
+        if (mHitLocationsShared) {
+            mHitLocations = mHitLocations.clone();
+            mHitLocationsShared = false;
+        }
+        return mHitLocations;
+    }
+
     public void setHitLocations(HitLocationTable hitLocations) {
         if (!mHitLocations.equals(hitLocations)) {
-            mHitLocations = hitLocations;
+            setSharedHitLocations(hitLocations, false);
             notifyOfChange();
         }
     }
 
+    private void setSharedHitLocations(HitLocationTable hitLocations, boolean owned) {
+        synchronized (SHARED_HIT_LOCATIONS) {
+            WeakReference<HitLocationTable> ref    = SHARED_HIT_LOCATIONS.get(hitLocations);
+            HitLocationTable                shared = ref != null ? ref.get() : null;
+            if (shared == null) {
+                shared = owned ? hitLocations : hitLocations.clone();
+                shared.makeReadOnly();
+                SHARED_HIT_LOCATIONS.put(shared, new WeakReference<>(shared));
+            }
+            mHitLocations = shared;
+            mHitLocationsShared = true;
+        }
+    }
+
     public PageSettings getPageSettings() {
         return mPageSettings;
     }
@@ -576,14 +576,10 @@ public class Skill extends ListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        if (getSpecialization().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> pieces) {
+        pieces.add(getName());
+        pieces.add(getSpecialization());
+        super.addSearchText(pieces);
     }
 
     @Override
@@ -967,6 +963,11 @@ public class Skill extends ListRow implements HasSourceReference {
         return getBaseSkill(getCharacter(), mDefaultedFrom, true);
     }
 
+    /** @return The default currently in use for this skill's level, if any. */
+    public SkillDefault getDefaultedFrom() {
+        return mDefaultedFrom;
+    }
+
     @Override
     public String getToolTip(Column column) {
         return SkillColumn.values()[column.getID()].getToolTip(this);
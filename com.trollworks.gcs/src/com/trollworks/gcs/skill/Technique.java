@@ -281,6 +281,7 @@ public class Technique extends Skill {
     public boolean setDefault(SkillDefault def) {
         if (!mDefault.equals(def)) {
             mDefault = new SkillDefault(def);
+            notifyOfChange();
             return true;
         }
         return false;
@@ -632,6 +632,7 @@ public class Spell extends ListRow implements HasSourceReference {
     public boolean setSpellClass(String spellClass) {
         if (!mSpellClass.equals(spellClass)) {
             mSpellClass = spellClass;
+            notifyOfChange();
             return true;
         }
         return false;
@@ -878,19 +879,11 @@ public class Spell extends ListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        if (getSpellClass().toLowerCase().contains(text)) {
-            return true;
-        }
-        for (String college : getColleges()) {
-            if (college.toLowerCase().contains(text)) {
-                return true;
-            }
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void addSearchText(List<String> pieces) {
+        pieces.add(getName());
+        pieces.add(getSpellClass());
+        pieces.addAll(getColleges());
+        super.addSearchText(pieces);
     }
 
     @Override
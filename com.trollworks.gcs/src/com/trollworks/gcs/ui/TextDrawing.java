@@ -11,21 +11,47 @@
 
 package com.trollworks.gcs.ui;
 
+import com.trollworks.gcs.ui.widget.BaseWindow;
+
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
+import java.awt.Frame;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Rectangle;
 import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.StringTokenizer;
 import javax.swing.SwingConstants;
 
 /** General text drawing utilities. */
 public final class TextDrawing {
-    private static FontRenderContext DEFAULT_FONT_RENDER_CONTEXT;
+    private static final int                    MAX_CACHED_WIDTHS = 8192;
+    private static final Object                 LOCK              = new Object();
+    private static       FontRenderContext      DEFAULT_FONT_RENDER_CONTEXT;
+    private static       Frame                  DEFAULT_FONT_RENDER_CONTEXT_FRAME;
+    private static       GraphicsConfiguration  DEFAULT_FONT_RENDER_CONTEXT_CONFIG;
+    private static       AffineTransform        DEFAULT_FONT_RENDER_CONTEXT_SCALE;
+    private static       FontRenderContext      CACHE_FONT_RENDER_CONTEXT;
+    private static final Map<WidthKey, Integer> WIDTHS            = new LinkedHashMap<>(MAX_CACHED_WIDTHS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<WidthKey, Integer> eldest) {
+            return size() > MAX_CACHED_WIDTHS;
+        }
+    };
+    private static final Map<Font, Integer>     FONT_HEIGHTS      = new HashMap<>();
+    private static final Map<Font, float[][]>   ADVANCES          = new HashMap<>();
 
     private TextDrawing() {
     }
@@ -43,12 +69,47 @@ public final class TextDrawing {
 
     /** @return A default {@link FontRenderContext}. */
     public static FontRenderContext getDefaultFontRenderContext() {
+        // Creating a graphics context just to ask it for this is costly, so keep the answer for as
+        // long as the window it would have come from, that window's screen, and that screen's
+        // scale stay the same.
+        Frame                 frame     = BaseWindow.getTopWindow();
+        boolean               cacheable = frame != null ? frame.isDisplayable() : !GraphicsUtilities.hasUserDisplay();
+        GraphicsConfiguration config    = frame != null ? frame.getGraphicsConfiguration() : null;
+        AffineTransform       scale     = config != null ? config.getDefaultTransform() : null;
+        synchronized (LOCK) {
+            if (cacheable && DEFAULT_FONT_RENDER_CONTEXT != null && frame == DEFAULT_FONT_RENDER_CONTEXT_FRAME && config == DEFAULT_FONT_RENDER_CONTEXT_CONFIG && Objects.equals(scale, DEFAULT_FONT_RENDER_CONTEXT_SCALE)) {
+                return DEFAULT_FONT_RENDER_CONTEXT;
+            }
+        }
         Graphics2D        g2d = GraphicsUtilities.getGraphics();
         FontRenderContext frc = g2d.getFontRenderContext();
         g2d.dispose();
+        synchronized (LOCK) {
+            if (cacheable) {
+                DEFAULT_FONT_RENDER_CONTEXT = frc;
+                DEFAULT_FONT_RENDER_CONTEXT_FRAME = frame;
+                DEFAULT_FONT_RENDER_CONTEXT_CONFIG = config;
+                DEFAULT_FONT_RENDER_CONTEXT_SCALE = scale;
+            } else {
+                DEFAULT_FONT_RENDER_CONTEXT = null;
+            }
+        }
         return frc;
     }
 
+    /**
+     * Discards cached measurements if they were made with a different {@link FontRenderContext}.
+     * Must be called while holding {@link #LOCK}.
+     */
+    private static void validateCaches(FontRenderContext frc) {
+        if (!frc.equals(CACHE_FONT_RENDER_CONTEXT)) {
+            CACHE_FONT_RENDER_CONTEXT = frc;
+            WIDTHS.clear();
+            FONT_HEIGHTS.clear();
+            ADVANCES.clear();
+        }
+    }
+
     /**
      * @param font The {@link Font} to measure with.
      * @param text The text to measure. Returns are not treated specially.
@@ -58,12 +119,30 @@ public final class TextDrawing {
         if (text == null || text.isEmpty()) {
             return 0;
         }
-        Font              fallbackFont = null;
-        char[]            chars        = text.toCharArray();
-        int               max          = chars.length;
-        FontRenderContext frc          = getDefaultFontRenderContext();
-        int               width        = 0;
-        int               i            = 0;
+        FontRenderContext frc = getDefaultFontRenderContext();
+        WidthKey          key = new WidthKey(font, text);
+        synchronized (LOCK) {
+            validateCaches(frc);
+            Integer width = WIDTHS.get(key);
+            if (width != null) {
+                return width.intValue();
+            }
+        }
+        int width = measureSimpleWidth(font, text, frc);
+        synchronized (LOCK) {
+            if (frc.equals(CACHE_FONT_RENDER_CONTEXT)) {
+                WIDTHS.put(key, Integer.valueOf(width));
+            }
+        }
+        return width;
+    }
+
+    private static int measureSimpleWidth(Font font, String text, FontRenderContext frc) {
+        Font   fallbackFont = null;
+        char[] chars        = text.toCharArray();
+        int    max          = chars.length;
+        int    width        = 0;
+        int    i            = 0;
         while (i < max) {
             int upTo = font.canDisplayUpTo(chars, i, max);
             if (upTo != 0) {
@@ -269,8 +348,22 @@ public final class TextDrawing {
     }
 
     public static int getFontHeight(Font font) {
-        FontMetrics fm = getFontMetrics(font);
-        return fm.getAscent() + fm.getDescent();
+        FontRenderContext frc = getDefaultFontRenderContext();
+        synchronized (LOCK) {
+            validateCaches(frc);
+            Integer height = FONT_HEIGHTS.get(font);
+            if (height != null) {
+                return height.intValue();
+            }
+        }
+        FontMetrics fm     = getFontMetrics(font);
+        int         height = fm.getAscent() + fm.getDescent();
+        synchronized (LOCK) {
+            if (frc.equals(CACHE_FONT_RENDER_CONTEXT)) {
+                FONT_HEIGHTS.put(font, Integer.valueOf(height));
+            }
+        }
+        return height;
     }
 
     /**
@@ -363,6 +456,7 @@ public final class TextDrawing {
      * @return A new, wrapped version of the text.
      */
     public static String wrapToPixelWidth(Font font, String text, int width) {
+        TextMeasurer    measurer   = new TextMeasurer(font);
         int[]           lineWidth  = {0};
         StringBuilder   buffer     = new StringBuilder(text.length() * 2);
         StringBuilder   lineBuffer = new StringBuilder(text.length());
@@ -380,7 +474,7 @@ public final class TextDrawing {
                 lineWidth[0] = 0;
             } else {
                 if (!wrapped || lineWidth[0] != 0 || !" ".equals(token)) {
-                    wrapped = processOneTokenForWrapToPixelWidth(token, font, buffer, lineBuffer, width, lineWidth, wrapped);
+                    wrapped = processOneTokenForWrapToPixelWidth(token, measurer, buffer, lineBuffer, width, lineWidth, wrapped);
                 }
             }
         }
@@ -390,8 +484,8 @@ public final class TextDrawing {
         return buffer.toString();
     }
 
-    private static boolean processOneTokenForWrapToPixelWidth(String token, Font font, StringBuilder buffer, StringBuilder lineBuffer, int width, int[] lineWidth, boolean hasBeenWrapped) {
-        int tokenWidth = getSimpleWidth(font, lineBuffer + token);
+    private static boolean processOneTokenForWrapToPixelWidth(String token, TextMeasurer measurer, StringBuilder buffer, StringBuilder lineBuffer, int width, int[] lineWidth, boolean hasBeenWrapped) {
+        int tokenWidth = measurer.getWidth(lineBuffer, token);
         if (tokenWidth < width) {
             lineBuffer.append(token);
             lineWidth[0] = tokenWidth;
@@ -401,7 +495,7 @@ public final class TextDrawing {
             lineBuffer.append(token.charAt(0));
             for (int i = 1; i < count; i++) {
                 lineBuffer.append(token.charAt(i));
-                if (getSimpleWidth(font, lineBuffer.toString()) > width) {
+                if (measurer.getWidth(lineBuffer, "") > width) {
                     lineBuffer.deleteCharAt(lineBuffer.length() - 1);
                     buffer.append(lineBuffer);
                     buffer.append("\n");
@@ -410,7 +504,7 @@ public final class TextDrawing {
                     lineBuffer.append(token.charAt(i));
                 }
             }
-            lineWidth[0] = getSimpleWidth(font, lineBuffer.toString());
+            lineWidth[0] = measurer.getWidth(lineBuffer, "");
         } else {
             buffer.append(lineBuffer);
             buffer.append("\n");
@@ -418,9 +512,180 @@ public final class TextDrawing {
             lineBuffer.setLength(0);
             lineWidth[0] = 0;
             if (!" ".equals(token)) {
-                return processOneTokenForWrapToPixelWidth(token, font, buffer, lineBuffer, width, lineWidth, true);
+                return processOneTokenForWrapToPixelWidth(token, measurer, buffer, lineBuffer, width, lineWidth, true);
             }
         }
         return hasBeenWrapped;
     }
+
+    /**
+     * @param ch The character to check.
+     * @return {@code true} if the character is always measured by simply adding its advance to
+     *         those of the characters around it, i.e. it doesn't require complex text layout and
+     *         isn't part of a surrogate pair.
+     */
+    private static boolean isSimpleChar(char ch) {
+        if (ch < 0x0300) {
+            return true;
+        }
+        if (ch <= 0x036F) {
+            return false;
+        }
+        if (ch < 0x0590) {
+            return true;
+        }
+        if (ch <= 0x06FF) {
+            return false;
+        }
+        if (ch < 0x0900) {
+            return true;
+        }
+        if (ch <= 0x0E7F || (ch >= 0x0F00 && ch <= 0x109F) || (ch >= 0x1100 && ch <= 0x11FF) || (ch >= 0x1780 && ch <= 0x17FF)) {
+            return false;
+        }
+        if (ch == 0x200C || ch == 0x200D || (ch >= 0x202A && ch <= 0x202E) || (ch >= 0x206A && ch <= 0x206F)) {
+            return false;
+        }
+        return ch < Character.MIN_SURROGATE || ch > Character.MAX_SURROGATE;
+    }
+
+    /**
+     * @param font The font to measure with.
+     * @param ch   The character to measure.
+     * @param frc  The {@link FontRenderContext} to measure with.
+     * @return The advance of the character, as used when measuring runs of simple text.
+     */
+    private static float getAdvance(Font font, char ch, FontRenderContext frc) {
+        // Advances are kept in pages of 256 characters, allocated as they are needed
+        float[] page;
+        synchronized (LOCK) {
+            validateCaches(frc);
+            float[][] pages = ADVANCES.computeIfAbsent(font, f -> new float[0x100][]);
+            page = pages[ch >> 8];
+            if (page == null) {
+                page = new float[0x100];
+                Arrays.fill(page, Float.NaN);
+                pages[ch >> 8] = page;
+            } else if (!Float.isNaN(page[ch & 0xFF])) {
+                return page[ch & 0xFF];
+            }
+        }
+        float advance = (float) font.getStringBounds(new char[]{ch}, 0, 1, frc).getWidth();
+        synchronized (LOCK) {
+            page[ch & 0xFF] = advance;
+        }
+        return advance;
+    }
+
+    /**
+     * Measures pieces of a single text, looking up the advance of each of its characters only
+     * once, rather than measuring each piece from scratch.
+     */
+    private static final class TextMeasurer {
+        private Font                  mFont;
+        private Font                  mFallbackFont;
+        private FontRenderContext     mFRC;
+        private Map<Character, Float> mAdvances;
+        private Set<Character>        mFallbackChars;
+
+        /** @param font The font to measure with. */
+        TextMeasurer(Font font) {
+            mFont = font;
+            mFRC = getDefaultFontRenderContext();
+            if (!font.hasLayoutAttributes()) {
+                mAdvances = new HashMap<>();
+                mFallbackChars = new HashSet<>();
+            }
+        }
+
+        /**
+         * @param first  The first part of the text to measure.
+         * @param second The second part of the text to measure.
+         * @return The same width {@link #getSimpleWidth(Font, String)} would return for the two
+         *         parts joined together.
+         */
+        int getWidth(CharSequence first, CharSequence second) {
+            int length = first.length();
+            int total  = length + second.length();
+            if (mAdvances == null || !isSimple(first) || !isSimple(second)) {
+                // The pieces of a wrap are rarely measured again, so don't cache them
+                return total == 0 ? 0 : measureSimpleWidth(mFont, first.toString() + second, mFRC);
+            }
+            // Matches the way the font sums the advances of each run of characters it can display,
+            // and the fallback font sums those it can't, with each run rounded up on its own
+            int     width    = 0;
+            float   run      = 0;
+            boolean fallback = false;
+            for (int i = 0; i < total; i++) {
+                Character ch         = Character.valueOf(i < length ? first.charAt(i) : second.charAt(i - length));
+                float     advance    = getAdvance(ch);
+                boolean   chFallback = mFallbackChars.contains(ch);
+                if (i != 0 && chFallback != fallback) {
+                    width += (int) Math.ceil(run);
+                    run = 0;
+                }
+                fallback = chFallback;
+                run += advance;
+            }
+            return width + (int) Math.ceil(run);
+        }
+
+        private static boolean isSimple(CharSequence text) {
+            int length = text.length();
+            for (int i = 0; i < length; i++) {
+                if (!isSimpleChar(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private float getAdvance(Character ch) {
+            Float advance = mAdvances.get(ch);
+            if (advance == null) {
+                char c = ch.charValue();
+                if (mFont.canDisplay(c)) {
+                    advance = Float.valueOf(TextDrawing.getAdvance(mFont, c, mFRC));
+                } else {
+                    if (mFallbackFont == null) {
+                        mFallbackFont = new Font(Font.SANS_SERIF, mFont.getStyle(), mFont.getSize());
+                    }
+                    advance = Float.valueOf(TextDrawing.getAdvance(mFallbackFont, c, mFRC));
+                    mFallbackChars.add(ch);
+                }
+                mAdvances.put(ch, advance);
+            }
+            return advance.floatValue();
+        }
+    }
+
+    /** The key for a cached width. */
+    private static final class WidthKey {
+        private Font   mFont;
+        private String mText;
+        private int    mHash;
+
+        WidthKey(Font font, String text) {
+            mFont = font;
+            mText = text;
+            mHash = 31 * font.hashCode() + text.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof WidthKey) {
+                WidthKey other = (WidthKey) obj;
+                return mHash == other.mHash && mText.equals(other.mText) && mFont.equals(other.mFont);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return mHash;
+        }
+    }
 }
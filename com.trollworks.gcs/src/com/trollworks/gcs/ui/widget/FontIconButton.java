@@ -184,6 +184,10 @@ public class FontIconButton extends Panel implements MouseListener, MouseMotionL
     }
 
     public void updateRollOver() {
+        if (!GraphicsUtilities.hasUserDisplay()) {
+            // There is no pointer to track, such as when exporting from the command line
+            return;
+        }
         boolean wasRollover = mRollover;
         Point   location    = MouseInfo.getPointerInfo().getLocation();
         UIUtilities.convertPointFromScreen(location, this);
@@ -17,6 +17,8 @@ import com.trollworks.gcs.ui.UIUtilities;
 import com.trollworks.gcs.ui.layout.PrecisionLayout;
 import com.trollworks.gcs.ui.layout.PrecisionLayoutData;
 import com.trollworks.gcs.utility.I18n;
+import com.trollworks.gcs.utility.task.Task;
+import com.trollworks.gcs.utility.task.Tasks;
 import com.trollworks.gcs.utility.text.Numbers;
 import com.trollworks.gcs.utility.text.Text;
 
@@ -27,21 +29,29 @@ import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.swing.JLayeredPane;
 import javax.swing.JRootPane;
 import javax.swing.SwingConstants;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 
-/** A standard search control. */
+/**
+ * A standard search control. Searches are started once typing pauses and run on a background
+ * thread, with any search still in progress being abandoned when the filter changes.
+ */
 public class Search extends Panel implements DocumentListener, KeyListener, FocusListener {
-    private SearchTarget   mTarget;
-    private Label          mHits;
-    private EditorField    mFilterField;
-    private SearchDropDown mFloater;
-    private String         mFilter;
+    private static final int            SEARCH_DELAY = 150;
+    private              SearchTarget   mTarget;
+    private              Label          mHits;
+    private              EditorField    mFilterField;
+    private              SearchDropDown mFloater;
+    private              String         mFilter;
+    private              List<Object>   mHitList     = new ArrayList<>();
+    private              Task           mPendingSearch;
+    private              SearchResults  mActiveSearch;
 
     /**
      * Creates the search panel.
@@ -88,23 +98,82 @@ public class Search extends Panel implements DocumentListener, KeyListener, Focu
                 return;
             }
         }
-        mTarget.searchSelect(adjustHits());
+        mTarget.searchSelect(getHits());
     }
 
     /**
-     * Adjust the hits count.
-     *
-     * @return The current hits.
+     * @return The current hits. If a search for the current filter is still pending or in
+     *         progress, it is completed first.
      */
-    public List<Object> adjustHits() {
-        List<Object> hits = mFilter != null ? mTarget.search(mFilter) : Collections.emptyList();
-        mHits.setText(Numbers.format(hits.size()));
+    public List<Object> getHits() {
+        if (mPendingSearch != null || mActiveSearch != null) {
+            cancelSearch();
+            SearchResults results = new SearchResults(null);
+            mTarget.createSearchSnapshot().search(mFilter, results);
+            mHitList = results.getHits();
+            adjustHits();
+        }
+        return mHitList;
+    }
+
+    private void adjustHits() {
         if (mFloater != null) {
-            mFloater.adjustToHits(hits);
+            mFloater.adjustToHits(mHitList);
         }
+        adjustHitCount();
+    }
+
+    private void adjustHitCount() {
+        mHits.setText(Numbers.format(mHitList.size()));
         mHits.revalidate();
         mHits.repaint();
-        return hits;
+    }
+
+    private void startSearch() {
+        mPendingSearch = null;
+        if (mFilter != null) {
+            SearchSnapshot snapshot = mTarget.createSearchSnapshot();
+            SearchResults  results  = new SearchResults(this);
+            String         filter   = mFilter;
+            mActiveSearch = results;
+            mHitList = new ArrayList<>();
+            adjustHits();
+            Tasks.callOnBackgroundThread(() -> {
+                snapshot.search(filter, results);
+                results.finish();
+            });
+        }
+    }
+
+    /**
+     * Called on the UI thread with matches found by a background search.
+     *
+     * @param results The results the matches were collected by.
+     * @param hits    The matches found since the last call.
+     * @param done    {@code true} if the search has completed.
+     */
+    void hitsFound(SearchResults results, List<Object> hits, boolean done) {
+        if (results == mActiveSearch) {
+            mHitList.addAll(hits);
+            if (done) {
+                mActiveSearch = null;
+            }
+            if (mFloater != null) {
+                mFloater.addHits(hits);
+            }
+            adjustHitCount();
+        }
+    }
+
+    private void cancelSearch() {
+        if (mPendingSearch != null) {
+            mPendingSearch.cancel();
+            mPendingSearch = null;
+        }
+        if (mActiveSearch != null) {
+            mActiveSearch.cancel();
+            mActiveSearch = null;
+        }
     }
 
     @Override
@@ -125,7 +194,13 @@ public class Search extends Panel implements DocumentListener, KeyListener, Focu
     private void documentChanged() {
         String filterText = mFilterField.getText();
         mFilter = filterText.isEmpty() ? null : filterText;
-        adjustHits();
+        cancelSearch();
+        if (mFilter != null) {
+            mPendingSearch = Tasks.scheduleOnUIThread(this::startSearch, SEARCH_DELAY, TimeUnit.MILLISECONDS, null);
+        } else {
+            mHitList = new ArrayList<>();
+            adjustHits();
+        }
     }
 
     private boolean redirectKeyEventToFloater(KeyEvent event) {
@@ -184,6 +259,12 @@ public class Search extends Panel implements DocumentListener, KeyListener, Focu
         }
     }
 
+    @Override
+    public void removeNotify() {
+        cancelSearch();
+        super.removeNotify();
+    }
+
     private void removeFloater() {
         if (mFloater != null) {
             JRootPane rootPane = getRootPane();
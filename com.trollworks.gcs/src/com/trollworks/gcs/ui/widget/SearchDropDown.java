@@ -69,9 +69,23 @@ class SearchDropDown extends ScrollPanel implements MouseListener {
      */
     void adjustToHits(List<Object> hits) {
         mModel.removeAllElements();
-        for (Object one : hits) {
-            mModel.addElement(one);
+        mModel.addAll(hits);
+        adjustBounds();
+    }
+
+    /**
+     * Append additional hits to the end of the list.
+     *
+     * @param hits The hits to add.
+     */
+    void addHits(List<Object> hits) {
+        if (!hits.isEmpty()) {
+            mModel.addAll(hits);
+            adjustBounds();
         }
+    }
+
+    private void adjustBounds() {
         Point where  = new Point(0, mFilterField.getHeight());
         int   count  = mModel.getSize();
         int   height = 0;
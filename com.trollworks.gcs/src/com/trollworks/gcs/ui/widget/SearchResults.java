@@ -0,0 +1,83 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the matches found while searching a {@link SearchSnapshot}, periodically handing them
+ * to the {@link Search} control that asked for them so that they can be shown before the search
+ * completes.
+ */
+public final class SearchResults {
+    private static final long         PUBLISH_INTERVAL = 50;
+    private              Search       mOwner;
+    private              List<Object> mHits;
+    private              int          mPublished;
+    private              long         mLastPublished;
+    private volatile     boolean      mCancelled;
+
+    /**
+     * @param owner The {@link Search} control to hand the matches to, or {@code null} if they
+     *              will only be retrieved once the search has completed.
+     */
+    SearchResults(Search owner) {
+        mOwner = owner;
+        mHits = new ArrayList<>();
+        mLastPublished = System.currentTimeMillis();
+    }
+
+    /** @return {@code true} if the search has been superseded and should be abandoned. */
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    void cancel() {
+        mCancelled = true;
+    }
+
+    /** @param hit A matching object. */
+    public void add(Object hit) {
+        mHits.add(hit);
+        if (mOwner != null && System.currentTimeMillis() - mLastPublished >= PUBLISH_INTERVAL) {
+            publish(false);
+        }
+    }
+
+    /** @param hits The matching objects. */
+    public void addAll(List<?> hits) {
+        for (Object hit : hits) {
+            add(hit);
+        }
+    }
+
+    /** Called once the search has finished, to hand over whatever matches remain. */
+    void finish() {
+        if (mOwner != null && !mCancelled) {
+            publish(true);
+        }
+    }
+
+    /** @return All of the matches found so far. */
+    List<Object> getHits() {
+        return mHits;
+    }
+
+    private void publish(boolean done) {
+        List<Object> hits = new ArrayList<>(mHits.subList(mPublished, mHits.size()));
+        mPublished = mHits.size();
+        mLastPublished = System.currentTimeMillis();
+        EventQueue.invokeLater(() -> mOwner.hitsFound(this, hits, done));
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget;
+
+/**
+ * The content of a {@link SearchTarget}, as captured at the start of a search. Snapshots are
+ * searched on a background thread, so they must not rely on anything that may be modified by the
+ * UI thread while that happens.
+ */
+public interface SearchSnapshot {
+    /**
+     * Called on a background thread to search the snapshot with the specified filter. Matches
+     * should be added to the results as they are found, and the search abandoned once the results
+     * have been cancelled.
+     *
+     * @param filter  The filter to apply.
+     * @param results The results to add matching objects to.
+     */
+    void search(String filter, SearchResults results);
+}
@@ -26,13 +26,12 @@ public interface SearchTarget extends JumpToSearchTarget {
     ListCellRenderer<Object> getSearchRenderer();
 
     /**
-     * Called to have the target search itself with the specified filter and return the matching
-     * objects.
+     * Called on the UI thread to capture the content to be searched. The search itself is then
+     * carried out on a background thread.
      *
-     * @param filter The filter to apply.
-     * @return The matching objects.
+     * @return A snapshot of the content to search.
      */
-    List<Object> search(String filter);
+    SearchSnapshot createSearchSnapshot();
 
     /**
      * Called to have the target select the objects specified.
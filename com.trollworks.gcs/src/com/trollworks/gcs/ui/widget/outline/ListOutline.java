@@ -45,6 +45,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -99,7 +100,7 @@ public class ListOutline extends Outline implements Runnable, ActionListener, Du
     public void deleteSelection() {
         if (canDeleteSelection()) {
             OutlineModel model = getModel();
-            StateEdit    edit  = new StateEdit(model, I18n.text("Remove Rows"));
+            StateEdit    edit  = new OutlineStateEdit(model, I18n.text("Remove Rows"));
             Row[]        rows  = model.getSelectionAsList(true).toArray(new Row[0]);
             model.removeSelection();
             for (int i = rows.length - 1; i >= 0; i--) {
@@ -136,11 +137,10 @@ public class ListOutline extends Outline implements Runnable, ActionListener, Du
      */
     public void addRow(ListRow[] rows, String name, boolean sibling) {
         OutlineModel model = getModel();
-        StateEdit    edit  = new StateEdit(model, name);
+        StateEdit    edit  = new OutlineStateEdit(model, name);
         List<Row>    sel   = model.getSelectionAsList(true);
         int          count = sel.size();
         int          insertAt;
-        int          i;
         Row          parentRow;
         if (count > 0) {
             insertAt = model.getIndexOfRow(sel.get(count == 1 ? 0 : count - 1));
@@ -161,10 +161,7 @@ public class ListOutline extends Outline implements Runnable, ActionListener, Du
         } else {
             insertAt = model.getRowCount();
         }
-        i = insertAt;
-        for (ListRow row : rows) {
-            model.addRow(i++, row, true);
-        }
+        model.addRows(insertAt, Arrays.asList(rows), true);
         updateAllRows();
         edit.end();
         postUndo(edit);
@@ -12,6 +12,7 @@
 package com.trollworks.gcs.ui.widget.outline;
 
 import com.trollworks.gcs.advantage.Advantage;
+import com.trollworks.gcs.character.CollectedModels;
 import com.trollworks.gcs.character.GURPSCharacter;
 import com.trollworks.gcs.datafile.DataFile;
 import com.trollworks.gcs.datafile.LoadState;
@@ -73,6 +74,8 @@ public abstract class ListRow extends Row {
     private   String             mUnsatisfiedReason;
     private   String             mNotes;
     private   TreeSet<String>    mCategories;
+    private   String             mSearchText;
+    private   int                mChangeCount;
 
     public static void saveList(JsonWriter w, String key, List<?> list, SaveType saveType) throws IOException {
         List<ListRow> rows = Filtered.list(list, ListRow.class);
@@ -257,10 +260,19 @@ public abstract class ListRow extends Row {
 
     /** @return The reason {@link #isSatisfied()} is returning {@code false}. */
     public String getReasonForUnsatisfied() {
+        if (mUnsatisfiedReason == null && !mIsSatisfied) {
+            GURPSCharacter character = getCharacter();
+            if (character != null) {
+                mUnsatisfiedReason = character.explainUnsatisfiedPrerequisites(this);
+            }
+        }
         return mUnsatisfiedReason;
     }
 
-    /** @param reason The reason {@link #isSatisfied()} is returning {@code false}. */
+    /**
+     * @param reason The reason {@link #isSatisfied()} is returning {@code false}, or {@code null}
+     *               to have it generated from the row's prerequisites when next asked for.
+     */
     public void setReasonForUnsatisfied(String reason) {
         mUnsatisfiedReason = reason;
     }
@@ -283,6 +295,7 @@ public abstract class ListRow extends Row {
         boolean isContainer = m.getString(DataFile.TYPE).endsWith("_container");
         setCanHaveChildren(isContainer);
         setOpen(isContainer);
+        contentChanged();
         prepareForLoad(state);
         loadSelf(m, state);
         if (m.has(KEY_PREREQS)) {
@@ -506,7 +519,13 @@ public abstract class ListRow extends Row {
     protected abstract void saveSelf(JsonWriter w, SaveType saveType) throws IOException;
 
     public void notifyOfChange() {
-        if (mDataFile != null) {
+        contentChanged();
+        if (mDataFile instanceof CollectedModels && ((CollectedModels) mDataFile).deferRowChange()) {
+            return;
+        }
+        if (mDataFile instanceof GURPSCharacter) {
+            ((GURPSCharacter) mDataFile).notifyOfRowChange(this);
+        } else if (mDataFile != null) {
             mDataFile.notifyOfChange();
         }
     }
@@ -680,8 +699,48 @@ public abstract class ListRow extends Row {
      * @param lowerCaseOnly The passed in text is all lowercase.
      * @return {@code true} if this row contains the text.
      */
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        return false;
+    public final boolean contains(String text, boolean lowerCaseOnly) {
+        return getSearchText().contains(lowerCaseOnly ? text : text.toLowerCase());
+    }
+
+    /**
+     * @return The text examined by {@link #contains(String, boolean)}, in lowercase, with each
+     *         piece separated by a newline. This is cached until the row is next changed.
+     */
+    public String getSearchText() {
+        String searchText = mSearchText;
+        if (searchText == null) {
+            List<String> pieces = new ArrayList<>();
+            addSearchText(pieces);
+            searchText = String.join("\n", pieces).toLowerCase();
+            mSearchText = searchText;
+        }
+        return searchText;
+    }
+
+    /**
+     * @return A counter that changes whenever the row is changed, so that information derived from
+     *         it can be cached until then.
+     */
+    public int getChangeCount() {
+        return mChangeCount;
+    }
+
+    /** Discards anything derived from the row's content. */
+    private void contentChanged() {
+        mSearchText = null;
+        mChangeCount++;
+    }
+
+    /**
+     * Called to obtain the text that {@link #contains(String, boolean)} examines. Does nothing by
+     * default. The text is cached, so it must only change along with a call to
+     * {@link #notifyOfChange()}.
+     *
+     * @param pieces The list to add each piece of text to.
+     */
+    protected void addSearchText(List<String> pieces) {
+        // Nothing to add.
     }
 
     /** @return An image representative of this row. */
@@ -701,6 +760,7 @@ public abstract class ListRow extends Row {
 
     /** @param map The map of nameable keys to names to apply. */
     public void applyNameableKeys(Map<String, String> map) {
+        contentChanged();
         mNotes = nameNameables(map, mNotes);
         for (SkillDefault def : mDefaults) {
             def.applyNameableKeys(map);
@@ -119,6 +119,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
     private              Dock              mAlternateDragDestination;
     private              String            mLastTooltipText;
     private              int               mLastTooltipX;
+    private              RowGeometry       mRowGeometry;
 
     /**
      * Creates a new outline.
@@ -138,6 +139,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         mPotentialContentSizeChangeCommand = CMD_POTENTIAL_CONTENT_SIZE_CHANGE;
         mDragChildInsertIndex = -1;
         mLastRow = -1;
+        mRowGeometry = new RowGeometry();
 
         setActionCommand(CMD_OPEN_SELECTION);
         setBackground(Colors.CONTENT);
@@ -170,6 +172,14 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         }
     }
 
+    /** Causes the {@link RowFilter} to be re-evaluated, as the criteria it uses have changed. */
+    public void rowFilterChanged() {
+        if (mModel.getRowFilter() != null) {
+            mModel.rowFilterChanged();
+            revalidateView();
+        }
+    }
+
     /** @return The underlying data model. */
     public OutlineModel getModel() {
         return mModel;
@@ -186,6 +196,13 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         mModel.addListener(proxy);
     }
 
+    /** @param proxy The proxy to remove. */
+    public void removeProxy(OutlineProxy proxy) {
+        if (mProxies.remove(proxy)) {
+            mModel.removeListener(proxy);
+        }
+    }
+
     /** Removes all proxies from this outline. */
     public void clearProxies() {
         for (OutlineProxy proxy : mProxies) {
@@ -257,20 +274,9 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
             revalidateView();
         }
 
-        boolean needHeightAdjust = false;
-        for (int i = getFirstRowToDisplay(); i <= getLastRowToDisplay(); i++) {
-            Row row = mModel.getRowAtIndex(i);
-            if (!mModel.isRowFiltered(row)) {
-                int height = row.getHeight();
-                if (height == -1) {
-                    height = row.getPreferredHeight(this, columns);
-                    row.setHeight(height);
-                }
-                size.height += height + (mDrawRowDividers ? one : 0);
-                needHeightAdjust = true;
-            }
-        }
-        if (mDrawRowDividers && needHeightAdjust) {
+        RowGeometry geometry = getRowGeometry();
+        size.height += geometry.getTotal();
+        if (mDrawRowDividers && geometry.hasShownRows()) {
             size.height -= one;
         }
 
@@ -371,7 +377,11 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         boolean   isPrinting = Page.isPrinting(this);
         boolean   showIndent = showIndent();
 
-        for (int rowIndex = first; rowIndex <= last; rowIndex++) {
+        RowGeometry geometry = getRowGeometry();
+        int         start    = geometry.find(clip.y - (bounds.y + 1));
+        bounds.y += geometry.getStart(start);
+
+        for (int rowIndex = first + start; rowIndex <= last; rowIndex++) {
             Row row = mModel.getRowAtIndex(rowIndex);
             if (!mModel.isRowFiltered(row)) {
                 bounds.height = row.getHeight();
@@ -456,7 +466,11 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         int       last       = getLastRowToDisplay();
         boolean   isPrinting = Page.isPrinting(this);
 
-        for (int rowIndex = first; rowIndex <= last; rowIndex++) {
+        RowGeometry geometry = getRowGeometry();
+        int         start    = geometry.find(clip.y - (top + 1));
+        bounds.y += geometry.getStart(start);
+
+        for (int rowIndex = first + start; rowIndex <= last; rowIndex++) {
             Row row = mModel.getRowAtIndex(rowIndex);
             if (!mModel.isRowFiltered(row)) {
                 bounds.height = row.getHeight();
@@ -587,28 +601,17 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
 
     /** Repaints the current selection. */
     protected void repaintSelectionInternal() {
-        Scale        scale   = Scale.get(this);
-        int          one     = scale.scale(1);
-        Insets       insets  = getInsets();
-        Rectangle    bounds  = new Rectangle(insets.left, insets.top, getWidth() - (insets.left + insets.right), getHeight() - (insets.top + insets.bottom));
-        int          last    = getLastRowToDisplay();
-        List<Column> columns = mModel.getColumns();
-        for (int i = getFirstRowToDisplay(); i <= last; i++) {
-            Row row = mModel.getRowAtIndex(i);
-            if (!mModel.isRowFiltered(row)) {
-                int height = row.getHeight();
-                if (height == -1) {
-                    height = row.getPreferredHeight(this, columns);
-                    row.setHeight(height);
-                }
-                if (mDrawRowDividers) {
-                    height += one;
-                }
-                if (mModel.isRowSelected(row)) {
-                    bounds.height = height;
-                    repaint(bounds);
-                }
-                bounds.y += height;
+        Insets      insets    = getInsets();
+        Rectangle   bounds    = new Rectangle(insets.left, insets.top, getWidth() - (insets.left + insets.right), getHeight() - (insets.top + insets.bottom));
+        RowGeometry geometry  = getRowGeometry();
+        int         first     = geometry.getFirst();
+        int         last      = first + geometry.getCount() - 1;
+        Selection   selection = mModel.getSelection();
+        for (int i = selection.nextSelectedIndex(first); i != -1 && i <= last; i = selection.nextSelectedIndex(i + 1)) {
+            if (geometry.isShown(i - first)) {
+                bounds.y = insets.top + geometry.getStart(i - first);
+                bounds.height = geometry.getSize(i - first);
+                repaint(bounds);
             }
         }
     }
@@ -934,20 +937,8 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
      * @return The row, or {@code null} if none is found.
      */
     public Row overRow(int y) {
-        int       one  = Scale.get(this).scale(1);
-        List<Row> rows = mModel.getRows();
-        int       pos  = getInsets().top;
-        int       last = getLastRowToDisplay();
-        for (int i = getFirstRowToDisplay(); i <= last; i++) {
-            Row row = rows.get(i);
-            if (!mModel.isRowFiltered(row)) {
-                pos += row.getHeight() + (mDrawRowDividers ? one : 0);
-                if (y < pos) {
-                    return row;
-                }
-            }
-        }
-        return null;
+        int index = overRowIndex(y);
+        return index != -1 ? mModel.getRowAtIndex(index) : null;
     }
 
     /**
@@ -957,20 +948,9 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
      * @return The row index, or {@code -1} if none is found.
      */
     public int overRowIndex(int y) {
-        int       one  = Scale.get(this).scale(1);
-        List<Row> rows = mModel.getRows();
-        int       pos  = getInsets().top;
-        int       last = getLastRowToDisplay();
-        for (int i = getFirstRowToDisplay(); i <= last; i++) {
-            Row row = rows.get(i);
-            if (!mModel.isRowFiltered(row)) {
-                pos += row.getHeight() + (mDrawRowDividers ? one : 0);
-                if (y < pos) {
-                    return i;
-                }
-            }
-        }
-        return -1;
+        RowGeometry geometry = getRowGeometry();
+        int         index    = geometry.rowAt(y - getInsets().top);
+        return index != -1 ? geometry.getFirst() + index : -1;
     }
 
     /**
@@ -978,22 +958,13 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
      * @return The row index to insert at, from {@code 0} to {@link OutlineModel#getRowCount()} .
      */
     public int getRowInsertionIndex(int y) {
-        int       one  = Scale.get(this).scale(1);
-        List<Row> rows = mModel.getRows();
-        int       pos  = getInsets().top;
-        int       last = getLastRowToDisplay();
-        for (int i = getFirstRowToDisplay(); i <= last; i++) {
-            Row row = rows.get(i);
-            if (!mModel.isRowFiltered(row)) {
-                int height = row.getHeight();
-                int tmp    = pos + height / 2;
-                if (y <= tmp) {
-                    return i;
-                }
-                pos += height + (mDrawRowDividers ? one : 0);
-            }
+        RowGeometry geometry = getRowGeometry();
+        int         offset   = y - getInsets().top;
+        int         index    = geometry.nextShown(geometry.find(offset - 1));
+        if (index != -1 && offset > geometry.getStart(index) + geometry.getHeight(index) / 2) {
+            index = geometry.nextShown(index + 1);
         }
-        return last;
+        return index != -1 ? geometry.getFirst() + index : getLastRowToDisplay();
     }
 
     /**
@@ -1001,10 +972,18 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
      * @return The starting y-coordinate for the specified row index.
      */
     public int getRowIndexStart(int index) {
-        int       one  = Scale.get(this).scale(1);
-        List<Row> rows = mModel.getRows();
-        int       pos  = getInsets().top;
-        for (int i = getFirstRowToDisplay(); i < index; i++) {
+        int         one      = Scale.get(this).scale(1);
+        List<Row>   rows     = mModel.getRows();
+        int         pos      = getInsets().top;
+        RowGeometry geometry = getRowGeometry();
+        int         first    = geometry.getFirst();
+        if (index <= first) {
+            return pos;
+        }
+        int count = Math.min(index - first, geometry.getCount());
+        pos += geometry.getStart(count);
+        // Only rows past the last one displayed remain to be walked
+        for (int i = first + count; i < index; i++) {
             Row row = rows.get(i);
             if (!mModel.isRowFiltered(row)) {
                 pos += row.getHeight() + (mDrawRowDividers ? one : 0);
@@ -1018,20 +997,15 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
      * @return The starting y-coordinate for the specified row.
      */
     public int getRowStart(Row row) {
-        int       one  = Scale.get(this).scale(1);
-        List<Row> rows = mModel.getRows();
-        int       pos  = getInsets().top;
-        int       last = getLastRowToDisplay();
-        for (int i = getFirstRowToDisplay(); i <= last; i++) {
-            Row oneRow = rows.get(i);
-            if (row == oneRow) {
-                break;
-            }
-            if (!mModel.isRowFiltered(oneRow)) {
-                pos += oneRow.getHeight() + (mDrawRowDividers ? one : 0);
-            }
-        }
-        return pos;
+        RowGeometry geometry = getRowGeometry();
+        int         index    = geometry.indexOf(row);
+        return getInsets().top + geometry.getStart(index != -1 ? index : geometry.getCount());
+    }
+
+    /** @return The vertical layout of the rows, brought up-to-date. */
+    private RowGeometry getRowGeometry() {
+        mRowGeometry.validate(this, mDrawRowDividers ? Scale.get(this).scale(1) : 0);
+        return mRowGeometry;
     }
 
     /**
@@ -1802,7 +1776,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
      *                  {@code false} to make this column the primary and only sort column.
      */
     public void setSort(Column column, boolean ascending, boolean add) {
-        StateEdit edit  = new StateEdit(mModel, I18n.text("Sort"));
+        StateEdit edit  = new OutlineStateEdit(mModel, I18n.text("Sort"));
         int       count = mModel.getColumnCount();
         int       i;
 
@@ -2375,7 +2349,7 @@ public class Outline extends ActionPanel implements OutlineModelListener, Compon
         }
         removeDragHighlight(this);
         if (mDragChildInsertIndex != -1) {
-            StateEdit edit         = new StateEdit(mModel, I18n.text("Row Drag & Drop"));
+            StateEdit edit         = new OutlineStateEdit(mModel, I18n.text("Row Drag & Drop"));
             Row[]     dragRows     = mModel.getDragRows();
             boolean   isFromSelf   = dragRows != null && dragRows.length > 0 && mModel.getRows().contains(dragRows[0]);
             int       count        = mModel.getRowCount();
@@ -34,6 +34,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     private static final String                     UNDO_KEY_SORT_CONFIG = "SortConfig";
     /** The current config version. */
     public static final  int                        CONFIG_VERSION       = 4;
+    private static final int                        MAX_RESIZED_ROWS     = 256;
     private              List<OutlineModelListener> mListeners;
     private              List<Column>               mColumns;
     private              List<Row>                  mRows;
@@ -51,6 +52,9 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     private              int                        mHierarchyColumnID;
     private              RowFilter                  mRowFilter;
     private              Map<String, Object>        mProperties;
+    private              int                        mLayoutVersion;
+    private              int                        mFilterVersion;
+    private              List<Row>                  mResizedRows;
 
     /** Creates a new model. */
     public OutlineModel() {
@@ -61,6 +65,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
         mNotifyOfSelections = true;
         mHierarchyColumnID = -1;
         mProperties = new HashMap<>();
+        mResizedRows = new ArrayList<>();
         mDisclosureSize = 16;
         mIndentWidth = 14;
         mShowIndent = true;
@@ -302,16 +307,74 @@ public class OutlineModel implements SelectionOwner, StateEditable {
         }
         preserveSelection();
         mRows.addAll(index, list);
+        layoutChanged();
         mSelection.setSize(mRows.size());
         restoreSelection();
         notifyOfRowAdditions(list.toArray(new Row[0]));
         clearSort();
     }
 
+    /**
+     * Adds the specified rows to the end of the model in a single operation.
+     *
+     * @param rows            The rows to add.
+     * @param includeChildren Whether children of open rows are added as well.
+     */
+    public void addRows(Collection<? extends Row> rows, boolean includeChildren) {
+        addRows(mRows.size(), rows, includeChildren);
+    }
+
+    /**
+     * Adds the specified rows in a single operation. This is much cheaper than adding them one at a
+     * time, as the selection is only fixed up once and only one notification is sent.
+     *
+     * @param index           The index to add the rows at.
+     * @param rows            The rows to add.
+     * @param includeChildren Whether children of open rows are added as well.
+     */
+    public void addRows(int index, Collection<? extends Row> rows, boolean includeChildren) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Row> list = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (includeChildren) {
+                collectRowsAndSetOwner(list, row, false);
+            } else {
+                list.add(row);
+                row.setOwner(this);
+            }
+        }
+        // The existing rows at or after the insertion point all move down by the same amount, so
+        // the selection can be shifted rather than looked up again row by row.
+        int   count    = list.size();
+        int   anchor   = mSelection.getAnchor();
+        int[] selected = mSelection.getSelectedIndexes();
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i] >= index) {
+                selected[i] += count;
+            }
+        }
+        mNotifyOfSelections = false;
+        deselect();
+        mRows.addAll(index, list);
+        layoutChanged();
+        mSelection.setSize(mRows.size());
+        mSelection.select(selected, false);
+        if (anchor != -1) {
+            mSelection.setAnchor(anchor >= index ? anchor + count : anchor);
+        }
+        reapplyRowFilter();
+        mNotifyOfSelections = true;
+        notifyOfRowAdditions(list.toArray(new Row[0]));
+        clearSort();
+    }
+
     private void addChildren(Row row) {
         List<Row> list = collectRowsAndSetOwner(new ArrayList<>(), row, true);
         preserveSelection();
         mRows.addAll(getIndexOfRow(row) + 1, list);
+        layoutChanged();
         mSelection.setSize(mRows.size());
         restoreSelection();
         notifyOfRowAdditions(list.toArray(new Row[0]));
@@ -439,6 +502,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
             mRows.remove(indexes[i]);
             rows[i].setOwner(null);
         }
+        layoutChanged();
         mSelection.setSize(mRows.size());
         restoreSelection();
         notifyOfRowsWereRemoved(rows);
@@ -455,6 +519,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
         for (Row element : rows) {
             element.setOwner(null);
         }
+        layoutChanged();
         notifyOfRowsWereRemoved(rows);
     }
 
@@ -563,6 +628,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     private void sortInternal() {
         preserveSelection();
         RowSorter.sort(mColumns, mRows, true);
+        layoutChanged();
         restoreSelection();
         notifyOfSort();
     }
@@ -835,14 +901,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
      *             the current selection.
      */
     public void select(Collection<? extends Row> rows, boolean add) {
-        Set<Row> set     = new HashSet<>(rows);
-        int[]    indexes = new int[set.size()];
-        int      i       = 0;
-
-        for (Row row : set) {
-            indexes[i++] = getIndexOfRow(row);
-        }
-        mSelection.select(indexes, add);
+        mSelection.select(getIndexesOfRows(rows), add);
         reapplyRowFilter();
     }
 
@@ -888,14 +947,25 @@ public class OutlineModel implements SelectionOwner, StateEditable {
      * @param rows The rows to deselect.
      */
     public void deselect(List<Row> rows) {
+        mSelection.deselect(getIndexesOfRows(rows));
+    }
+
+    /**
+     * Finds the indexes of the specified rows with a single pass over the model, rather than a
+     * search per row. Rows not in the model are ignored.
+     */
+    private int[] getIndexesOfRows(Collection<? extends Row> rows) {
         Set<Row> set     = new HashSet<>(rows);
         int[]    indexes = new int[set.size()];
-        int      i       = 0;
+        int      count   = 0;
+        int      size    = mRows.size();
 
-        for (Row row : set) {
-            indexes[i++] = getIndexOfRow(row);
+        for (int i = 0; i < size && count < indexes.length; i++) {
+            if (set.contains(mRows.get(i))) {
+                indexes[count++] = i;
+            }
         }
-        mSelection.deselect(indexes);
+        return count == indexes.length ? indexes : Arrays.copyOf(indexes, count);
     }
 
     /**
@@ -1046,7 +1116,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     @Override
     public void storeState(Hashtable<Object, Object> state) {
         List<Row> rows = getRows();
-        state.put(UNDO_KEY_ROWS, new ArrayList<>(rows));
+        state.put(UNDO_KEY_ROWS, getTopLevelRows());
         state.put(UNDO_KEY_SELECTION, new Selection(getSelection()));
         String sortConfig = getSortConfig();
         if (sortConfig != null) {
@@ -1057,6 +1127,51 @@ public class OutlineModel implements SelectionOwner, StateEditable {
         }
     }
 
+    /**
+     * Called by {@link OutlineStateEdit} once both states have been captured and the parts that
+     * are identical have been removed, to replace the top-level row lists with just the range
+     * that differs between them.
+     *
+     * @param preState  The state before the edit.
+     * @param postState The state after the edit.
+     */
+    void compactUndoState(Hashtable<Object, Object> preState, Hashtable<Object, Object> postState) {
+        Object before = preState.get(UNDO_KEY_ROWS);
+        Object after  = postState.get(UNDO_KEY_ROWS);
+        if (before instanceof List && after instanceof List) {
+            @SuppressWarnings("unchecked") List<Row> beforeRows = (List<Row>) before;
+            @SuppressWarnings("unchecked") List<Row> afterRows  = (List<Row>) after;
+            RowListChange[] changes = RowListChange.create(beforeRows, afterRows);
+            preState.put(UNDO_KEY_ROWS, changes[0]);
+            postState.put(UNDO_KEY_ROWS, changes[1]);
+        }
+    }
+
+    /**
+     * @param state A state captured by {@link #storeState(Hashtable)}.
+     * @return The approximate number of bytes retained by the state.
+     */
+    long estimateUndoStateSize(Hashtable<?, ?> state) {
+        long size = 64;
+        for (Map.Entry<?, ?> entry : state.entrySet()) {
+            Object value = entry.getValue();
+            size += 48;
+            if (value instanceof RowListChange) {
+                size += 32 + 8L * ((RowListChange) value).getRetainedRowCount();
+            } else if (value instanceof List) {
+                size += 24 + 8L * ((List<?>) value).size();
+            } else if (value instanceof RowUndoSnapshot) {
+                List<Row> children = ((RowUndoSnapshot) value).getChildren();
+                size += 32 + (children != null ? 24 + 8L * children.size() : 0);
+            } else if (value instanceof Selection) {
+                size += 48 + mRows.size() / 8;
+            } else if (value instanceof String) {
+                size += 40 + 2L * ((String) value).length();
+            }
+        }
+        return size;
+    }
+
     @Override
     public void restoreState(Hashtable<?, ?> state) {
         notifyOfUndoWillHappen();
@@ -1064,11 +1179,19 @@ public class OutlineModel implements SelectionOwner, StateEditable {
         String  origSortConfig = getSortConfig();
         boolean sortCleared    = clearSortInternal();
 
-        @SuppressWarnings("unchecked") ArrayList<Row> rows = (ArrayList<Row>) state.get(UNDO_KEY_ROWS);
-        if (rows != null) {
-            mRows = new ArrayList<>(rows);
+        // Only the top-level rows are recorded, since opening and closing rows alters the
+        // visible list without an undo; the visible list is rebuilt from them afterward.
+        Object    rowState = state.get(UNDO_KEY_ROWS);
+        List<Row> topLevel;
+        if (rowState instanceof RowListChange) {
+            topLevel = ((RowListChange) rowState).apply(getTopLevelRows());
+        } else if (rowState != null) {
+            @SuppressWarnings("unchecked") List<Row> rows = (List<Row>) rowState;
+            topLevel = new ArrayList<>(rows);
+        } else {
+            topLevel = getTopLevelRows();
         }
-        for (Row row : mRows) {
+        for (Row row : topLevel) {
             row.resetOwner(this);
         }
         for (Map.Entry<?, ?> entry : state.entrySet()) {
@@ -1077,10 +1200,17 @@ public class OutlineModel implements SelectionOwner, StateEditable {
                 ((Row) key).applyUndoSnapshot(this, (RowUndoSnapshot) entry.getValue());
             }
         }
+        List<Row> rows = new ArrayList<>(mRows.size());
+        for (Row row : topLevel) {
+            collectRowsAndSetOwner(rows, row, false);
+        }
+        mRows = rows;
+        layoutChanged();
 
         Selection selection = (Selection) state.get(UNDO_KEY_SELECTION);
         if (selection != null) {
             mSelection = new Selection(selection);
+            mSelection.setSize(mRows.size());
         }
 
         String sortConfig = (String) state.get(UNDO_KEY_SORT_CONFIG);
@@ -1109,6 +1239,7 @@ public class OutlineModel implements SelectionOwner, StateEditable {
     /** @param filter The {@link RowFilter} to use. */
     public void setRowFilter(RowFilter filter) {
         mRowFilter = filter;
+        layoutChanged();
     }
 
     /**
@@ -1122,6 +1253,17 @@ public class OutlineModel implements SelectionOwner, StateEditable {
         return false;
     }
 
+    /**
+     * Called when the criteria the {@link RowFilter} uses have changed, so that which rows it
+     * filters may have changed, too.
+     */
+    public void rowFilterChanged() {
+        if (mRowFilter != null) {
+            mFilterVersion++;
+            reapplyRowFilter();
+        }
+    }
+
     /** Causes the {@link RowFilter} to be re-applied to the selection. */
     public void reapplyRowFilter() {
         if (mRowFilter != null) {
@@ -1142,6 +1284,46 @@ public class OutlineModel implements SelectionOwner, StateEditable {
         }
     }
 
+    /**
+     * @return A counter that changes whenever the rows being shown may have changed in a way that
+     *         requires their layout to be redone from scratch, such as rows being added, removed,
+     *         reordered or filtered.
+     */
+    public int getLayoutVersion() {
+        return mLayoutVersion;
+    }
+
+    /**
+     * @return A counter that changes whenever the criteria used by the {@link RowFilter} have
+     *         changed.
+     */
+    int getFilterVersion() {
+        return mFilterVersion;
+    }
+
+    /**
+     * @return The rows whose height has changed since the layout version last changed, in the
+     *         order the changes were made. A row may appear more than once.
+     */
+    List<Row> getResizedRows() {
+        return mResizedRows;
+    }
+
+    private void layoutChanged() {
+        mLayoutVersion++;
+        mResizedRows.clear();
+    }
+
+    /** @param row The row whose height was changed. */
+    void rowHeightChanged(Row row) {
+        if (mResizedRows.size() < MAX_RESIZED_ROWS) {
+            mResizedRows.add(row);
+        } else {
+            // Past a point, simply laying everything out again is cheaper than replaying each change
+            layoutChanged();
+        }
+    }
+
     public Row getDragTargetRow() {
         return mDragTargetRow;
     }
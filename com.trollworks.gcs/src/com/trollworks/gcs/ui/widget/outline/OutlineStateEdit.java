@@ -0,0 +1,49 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget.outline;
+
+import com.trollworks.gcs.utility.undo.SizedEdit;
+
+import javax.swing.undo.StateEdit;
+
+/**
+ * A {@link StateEdit} for an {@link OutlineModel} that, once ended, only keeps the parts of the
+ * model's structure that were actually altered by the edit.
+ */
+public class OutlineStateEdit extends StateEdit implements SizedEdit {
+    private static final long serialVersionUID = 1L;
+    private              long mEstimatedSize;
+
+    /**
+     * @param model The model to track.
+     * @param name  The presentation name of the edit.
+     */
+    public OutlineStateEdit(OutlineModel model, String name) {
+        super(model, name);
+    }
+
+    @Override
+    public void end() {
+        super.end();
+        OutlineModel model = (OutlineModel) object;
+        model.compactUndoState(preState, postState);
+        mEstimatedSize = model.estimateUndoStateSize(preState) + model.estimateUndoStateSize(postState);
+    }
+
+    @Override
+    public long getEstimatedSize() {
+        if (postState == null) {
+            return ((OutlineModel) object).estimateUndoStateSize(preState);
+        }
+        return mEstimatedSize;
+    }
+}
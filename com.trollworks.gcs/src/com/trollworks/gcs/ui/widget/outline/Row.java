@@ -54,6 +54,7 @@ public abstract class Row {
                 mChildren.add(child);
                 child.mParent = this;
             }
+            childrenChanged();
         }
     }
 
@@ -102,7 +103,12 @@ public abstract class Row {
      * @param height The height to set.
      */
     public void setHeight(int height) {
-        mHeight = height;
+        if (mHeight != height) {
+            mHeight = height;
+            if (mOwner != null) {
+                mOwner.rowHeightChanged(this);
+            }
+        }
     }
 
     /**
@@ -240,6 +246,7 @@ public abstract class Row {
             }
             mChildren.add(index, row);
             row.mParent = this;
+            childrenChanged();
         }
     }
 
@@ -254,6 +261,7 @@ public abstract class Row {
             row.removeFromParent();
             mChildren.add(row);
             row.mParent = this;
+            childrenChanged();
             return true;
         }
         return false;
@@ -268,9 +276,15 @@ public abstract class Row {
         if (row.isChildOf(this)) {
             mChildren.remove(row);
             row.mParent = null;
+            childrenChanged();
         }
     }
 
+    /** Called whenever a child has been added to or removed from this row. */
+    protected void childrenChanged() {
+        // Does nothing by default.
+    }
+
     /**
      * @param parent The parent row.
      * @return {@code true} if this row is a child of the specified row.
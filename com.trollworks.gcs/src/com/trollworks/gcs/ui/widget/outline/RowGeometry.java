@@ -0,0 +1,249 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget.outline;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The vertical layout of the rows an {@link Outline} displays, kept as a Fenwick tree of the space
+ * each row takes up, so that mapping between a y-coordinate and a row can be done in logarithmic
+ * time rather than by walking all of the rows above it. Filtered rows take up no space. A change in
+ * the height of a row, or in whether it is filtered, is applied in place; anything else that alters
+ * which rows are shown or their order causes the layout to be rebuilt the next time it is needed.
+ */
+final class RowGeometry {
+    private OutlineModel      mModel;
+    private int               mVersion;
+    private int               mFilterVersion;
+    private int               mResizedCount;
+    private int               mFirst;
+    private int               mCount;
+    private int               mDivider;
+    private int[]             mSizes;
+    private int[]             mTree;
+    private BitSet            mShown;
+    private Map<Row, Integer> mIndexes;
+
+    RowGeometry() {
+        mSizes = new int[0];
+        mTree = new int[1];
+        mShown = new BitSet();
+        mIndexes = new HashMap<>();
+    }
+
+    /**
+     * Brings the layout up-to-date with the current state of the outline.
+     *
+     * @param outline The outline being laid out.
+     * @param divider The space to place between rows.
+     */
+    void validate(Outline outline, int divider) {
+        OutlineModel model = outline.getModel();
+        int          first = outline.getFirstRowToDisplay();
+        int          count = Math.max(outline.getLastRowToDisplay() + 1 - first, 0);
+        if (model != mModel || model.getLayoutVersion() != mVersion || first != mFirst || count != mCount || divider != mDivider) {
+            rebuild(outline, model, first, count, divider);
+        } else {
+            if (model.getFilterVersion() != mFilterVersion) {
+                refilter(outline, model);
+            }
+            List<Row> resized = model.getResizedRows();
+            int       size    = resized.size();
+            while (mResizedCount < size) {
+                Row     row   = resized.get(mResizedCount++);
+                Integer index = mIndexes.get(row);
+                if (index != null && mShown.get(index.intValue())) {
+                    setSize(index.intValue(), row.getHeight() + mDivider);
+                }
+            }
+        }
+    }
+
+    private void rebuild(Outline outline, OutlineModel model, int first, int count, int divider) {
+        List<Row>    rows    = model.getRows();
+        List<Column> columns = model.getColumns();
+        mShown = new BitSet(count);
+        mIndexes = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            Row row = rows.get(first + i);
+            mIndexes.put(row, Integer.valueOf(i));
+            if (!model.isRowFiltered(row)) {
+                mShown.set(i);
+                if (row.getHeight() == -1) {
+                    row.setHeight(row.getPreferredHeight(outline, columns));
+                }
+            }
+        }
+        // Filling in missing heights above may have moved the model's layout version on, so only
+        // capture it now
+        mModel = model;
+        mVersion = model.getLayoutVersion();
+        mFilterVersion = model.getFilterVersion();
+        mResizedCount = model.getResizedRows().size();
+        mFirst = first;
+        mCount = count;
+        mDivider = divider;
+        mSizes = new int[count];
+        mTree = new int[count + 1];
+        for (int i = mShown.nextSetBit(0); i >= 0; i = mShown.nextSetBit(i + 1)) {
+            mSizes[i] = rows.get(first + i).getHeight() + divider;
+            mTree[i + 1] = mSizes[i];
+        }
+        for (int i = 1; i <= count; i++) {
+            int parent = i + (i & -i);
+            if (parent <= count) {
+                mTree[parent] += mTree[i];
+            }
+        }
+    }
+
+    /** Shows or hides just the rows whose filtered state has changed since they were laid out. */
+    private void refilter(Outline outline, OutlineModel model) {
+        List<Row> rows = model.getRows();
+        mFilterVersion = model.getFilterVersion();
+        for (int i = 0; i < mCount; i++) {
+            Row     row   = rows.get(mFirst + i);
+            boolean shown = !model.isRowFiltered(row);
+            if (shown != mShown.get(i)) {
+                if (shown) {
+                    if (row.getHeight() == -1) {
+                        row.setHeight(row.getPreferredHeight(outline, model.getColumns()));
+                    }
+                    mShown.set(i);
+                    setSize(i, row.getHeight() + mDivider);
+                } else {
+                    mShown.clear(i);
+                    setSize(i, 0);
+                }
+            }
+        }
+    }
+
+    private void setSize(int index, int size) {
+        int delta = size - mSizes[index];
+        if (delta != 0) {
+            mSizes[index] = size;
+            for (int i = index + 1; i <= mCount; i += i & -i) {
+                mTree[i] += delta;
+            }
+        }
+    }
+
+    /** @return The model index of the first row in the layout. */
+    int getFirst() {
+        return mFirst;
+    }
+
+    /** @return The number of rows in the layout, including filtered ones. */
+    int getCount() {
+        return mCount;
+    }
+
+    /**
+     * @param index The layout index of the row.
+     * @return {@code true} if the row is not filtered.
+     */
+    boolean isShown(int index) {
+        return mShown.get(index);
+    }
+
+    /** @return {@code true} if at least one row is not filtered. */
+    boolean hasShownRows() {
+        return !mShown.isEmpty();
+    }
+
+    /**
+     * @param index The layout index to start looking at.
+     * @return The layout index of the first row at or after the one specified that is not filtered,
+     *         or {@code -1}.
+     */
+    int nextShown(int index) {
+        int next = mShown.nextSetBit(index);
+        return next < mCount ? next : -1;
+    }
+
+    /**
+     * @param index The layout index of the row.
+     * @return The space the row takes up, including the divider following it.
+     */
+    int getSize(int index) {
+        return mSizes[index];
+    }
+
+    /**
+     * @param index The layout index of the row.
+     * @return The height of the row, without the divider following it.
+     */
+    int getHeight(int index) {
+        return mSizes[index] - mDivider;
+    }
+
+    /**
+     * @param index The layout index of a row, or the row count.
+     * @return The space taken up by all of the rows before the specified one.
+     */
+    int getStart(int index) {
+        int pos = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            pos += mTree[i];
+        }
+        return pos;
+    }
+
+    /** @return The space taken up by all of the rows. */
+    int getTotal() {
+        return getStart(mCount);
+    }
+
+    /**
+     * @param offset The offset from the top of the first row.
+     * @return The layout index of the first row whose space extends beyond the offset, or the row
+     *         count if there is none.
+     */
+    int find(int offset) {
+        if (offset < 0) {
+            return 0;
+        }
+        int index = 0;
+        for (int step = Integer.highestOneBit(Math.max(mCount, 1)); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= mCount && mTree[next] <= offset) {
+                index = next;
+                offset -= mTree[next];
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @param offset The offset from the top of the first row.
+     * @return The layout index of the row that is not filtered and covers the offset, or
+     *         {@code -1}. Offsets above the first row resolve to the first row that isn't
+     *         filtered.
+     */
+    int rowAt(int offset) {
+        int index = find(offset);
+        return index < mCount ? nextShown(index) : -1;
+    }
+
+    /**
+     * @param row The row.
+     * @return The layout index of the row, or {@code -1} if it isn't part of the layout.
+     */
+    int indexOf(Row row) {
+        Integer index = mIndexes.get(row);
+        return index != null ? index.intValue() : -1;
+    }
+}
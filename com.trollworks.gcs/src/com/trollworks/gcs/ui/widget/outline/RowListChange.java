@@ -0,0 +1,93 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget.outline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The portion of an {@link OutlineModel}'s top-level row list that differs between the before and
+ * after states of an undoable edit. Only the differing range is kept; it is located in the model's
+ * list by row identity at the time the change is applied, so changes made since then that didn't
+ * touch that range are preserved.
+ */
+class RowListChange {
+    private Row       mAnchor;
+    private int       mPrefix;
+    private List<Row> mMiddle;
+    private List<Row> mReplaced;
+
+    private RowListChange(Row anchor, int prefix, List<Row> middle, List<Row> replaced) {
+        mAnchor = anchor;
+        mPrefix = prefix;
+        mMiddle = middle;
+        mReplaced = replaced;
+    }
+
+    /**
+     * @param before The top-level row list prior to the edit.
+     * @param after  The top-level row list after the edit.
+     * @return The changes that restore the before and after row lists, in that order.
+     */
+    static RowListChange[] create(List<Row> before, List<Row> after) {
+        int beforeSize = before.size();
+        int afterSize  = after.size();
+        int max        = Math.min(beforeSize, afterSize);
+        int prefix     = 0;
+        while (prefix < max && before.get(prefix) == after.get(prefix)) {
+            prefix++;
+        }
+        max -= prefix;
+        int suffix = 0;
+        while (suffix < max && before.get(beforeSize - 1 - suffix) == after.get(afterSize - 1 - suffix)) {
+            suffix++;
+        }
+        Row       anchor       = prefix > 0 ? before.get(prefix - 1) : null;
+        List<Row> beforeMiddle = new ArrayList<>(before.subList(prefix, beforeSize - suffix));
+        List<Row> afterMiddle  = new ArrayList<>(after.subList(prefix, afterSize - suffix));
+        return new RowListChange[]{new RowListChange(anchor, prefix, beforeMiddle, afterMiddle), new RowListChange(anchor, prefix, afterMiddle, beforeMiddle)};
+    }
+
+    /** @return The number of rows retained by this change. */
+    int getRetainedRowCount() {
+        // The replaced list is shared with the opposing change, so only count our own.
+        return mMiddle.size();
+    }
+
+    /**
+     * @param current The top-level row list to apply this change to.
+     * @return The resulting top-level row list.
+     */
+    List<Row> apply(List<Row> current) {
+        Set<Row> remove = Collections.newSetFromMap(new IdentityHashMap<>());
+        remove.addAll(mReplaced);
+        remove.addAll(mMiddle);
+        List<Row> rows     = new ArrayList<>(current.size() + mMiddle.size());
+        int       insertAt = mAnchor == null ? 0 : -1;
+        for (Row row : current) {
+            if (!remove.contains(row)) {
+                rows.add(row);
+                if (row == mAnchor) {
+                    insertAt = rows.size();
+                }
+            }
+        }
+        if (insertAt == -1) {
+            insertAt = Math.min(mPrefix, rows.size());
+        }
+        rows.addAll(insertAt, mMiddle);
+        return rows;
+    }
+}
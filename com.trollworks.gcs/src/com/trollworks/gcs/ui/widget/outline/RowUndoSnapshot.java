@@ -13,6 +13,7 @@ package com.trollworks.gcs.ui.widget.outline;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /** The information an undo for the row needs to operate. */
 public class RowUndoSnapshot {
@@ -31,6 +32,39 @@ public class RowUndoSnapshot {
         mChildren = row.canHaveChildren() ? new ArrayList<>(row.getChildren()) : null;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof RowUndoSnapshot) {
+            // Rows are compared by identity, as that is what the snapshot restores
+            RowUndoSnapshot other = (RowUndoSnapshot) obj;
+            if (mParent != other.mParent || mOpen != other.mOpen) {
+                return false;
+            }
+            if (mChildren == null || other.mChildren == null) {
+                return mChildren == other.mChildren;
+            }
+            int count = mChildren.size();
+            if (count != other.mChildren.size()) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (mChildren.get(i) != other.mChildren.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Boolean.valueOf(mOpen), Integer.valueOf(mChildren != null ? mChildren.size() : -1));
+    }
+
     /** @return The children. */
     public List<Row> getChildren() {
         return mChildren;
@@ -101,15 +101,60 @@ public class Fixed6 implements Comparable<Fixed6> {
     }
 
     public Fixed6 mul(Fixed6 other) {
+        return new Fixed6(mulRaw(mRawValue, other.mRawValue), true);
+    }
+
+    public Fixed6 div(Fixed6 other) {
+        return new Fixed6(divRaw(mRawValue, other.mRawValue), true);
+    }
+
+    /**
+     * @param value A raw value, as returned by {@link #getRawValue()}.
+     * @return A new value wrapping the raw value.
+     */
+    public static Fixed6 fromRawValue(long value) {
+        return new Fixed6(value, true);
+    }
+
+    /**
+     * @return The underlying raw value, which is the value multiplied by 10^6. Intended for tight
+     *         loops that want to accumulate without allocating a new object for each step.
+     */
+    public long getRawValue() {
+        return mRawValue;
+    }
+
+    /**
+     * Multiplies two raw values, with results identical to {@link #mul(Fixed6)}.
+     *
+     * @param left  The first raw value.
+     * @param right The second raw value.
+     * @return The raw result.
+     */
+    public static long mulRaw(long left, long right) {
+        long result = left * right;
+        if (Math.multiplyHigh(left, right) == (result >> 63)) {
+            return result / FACTOR;
+        }
         // Use BigInteger here to allow cases that would normally overflow in the intermediate
         // stages to work
-        return new Fixed6(BigInteger.valueOf(mRawValue).multiply(BigInteger.valueOf(other.mRawValue)).divide(BIG_FACTOR).longValue(), true);
+        return BigInteger.valueOf(left).multiply(BigInteger.valueOf(right)).divide(BIG_FACTOR).longValue();
     }
 
-    public Fixed6 div(Fixed6 other) {
+    /**
+     * Divides two raw values, with results identical to {@link #div(Fixed6)}.
+     *
+     * @param left  The raw dividend.
+     * @param right The raw divisor.
+     * @return The raw result.
+     */
+    public static long divRaw(long left, long right) {
+        if (left > -Long.MAX_VALUE / FACTOR && left < Long.MAX_VALUE / FACTOR) {
+            return left * FACTOR / right;
+        }
         // Use BigInteger here to allow cases that would normally overflow in the intermediate
         // stages to work
-        return new Fixed6(BigInteger.valueOf(mRawValue).multiply(BIG_FACTOR).divide(BigInteger.valueOf(other.mRawValue)).longValue(), true);
+        return BigInteger.valueOf(left).multiply(BIG_FACTOR).divide(BigInteger.valueOf(right)).longValue();
     }
 
     /** @return a new value which has everything to the right of the decimal place truncated */
@@ -25,17 +25,39 @@ import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 
-/** Provides standardized logging. */
+/**
+ * Provides standardized logging. Messages are queued without blocking and written out by a
+ * background thread, so callers never wait on the log's I/O. To keep a misbehaving caller from
+ * flooding the log, each call site may log at most {@link #MAX_PER_WINDOW} messages per second and
+ * may not repeat its previous message within that second; what gets suppressed is counted and
+ * reported instead.
+ */
 public final class Log {
-    private static final String            GCS_LOG_ENV      = "GCS_LOG";
-    private static final String            GCS_LOG_FILE     = "gcs.log";
-    private static final String            SEPARATOR        = " | ";
-    private static final DateTimeFormatter TIMESTAMP_FORMAT = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendValue(YEAR, 4).appendLiteral('.').appendValue(MONTH_OF_YEAR, 2).appendLiteral('.').appendValue(DAY_OF_MONTH, 2).appendLiteral(SEPARATOR).appendValue(HOUR_OF_DAY, 2).appendLiteral(':').appendValue(MINUTE_OF_HOUR, 2).appendLiteral(':').appendValue(SECOND_OF_MINUTE, 2).appendLiteral('.').appendValue(MILLI_OF_SECOND, 3).toFormatter();
-    private static       PrintStream       OUT;
+    private static final    String                      GCS_LOG_ENV      = "GCS_LOG";
+    private static final    String                      GCS_LOG_FILE     = "gcs.log";
+    private static final    String                      SEPARATOR        = " | ";
+    private static final    DateTimeFormatter           TIMESTAMP_FORMAT = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient().appendValue(YEAR, 4).appendLiteral('.').appendValue(MONTH_OF_YEAR, 2).appendLiteral('.').appendValue(DAY_OF_MONTH, 2).appendLiteral(SEPARATOR).appendValue(HOUR_OF_DAY, 2).appendLiteral(':').appendValue(MINUTE_OF_HOUR, 2).appendLiteral(':').appendValue(SECOND_OF_MINUTE, 2).appendLiteral('.').appendValue(MILLI_OF_SECOND, 3).toFormatter();
+    private static final    int                         CAPACITY         = 1024; // Must be a power of 2
+    private static final    int                         MAX_PER_WINDOW   = 10;
+    private static final    long                        WINDOW           = TimeUnit.SECONDS.toNanos(1);
+    private static final    StackWalker                 WALKER           = StackWalker.getInstance();
+    private static final    AtomicReferenceArray<Entry> RING             = new AtomicReferenceArray<>(CAPACITY);
+    private static final    AtomicLong                  TAIL             = new AtomicLong();
+    private static final    AtomicLong                  DROPPED          = new AtomicLong();
+    private static final    Map<String, Site>           SITES            = new ConcurrentHashMap<>();
+    private static final    Object                      DRAIN_LOCK       = new Object();
+    private static volatile long                        HEAD;
+    private static          PrintStream                 OUT;
+    private static          Thread                      WRITER;
 
     static {
         OUT = System.out;
@@ -63,6 +85,10 @@ public final class Log {
                 error("Unable to redirect log to " + path, throwable);
             }
         }
+        WRITER = new Thread(Log::writeEntries, "Log");
+        WRITER.setDaemon(true);
+        WRITER.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "Log Flush"));
     }
 
     private Log() {
@@ -124,18 +150,180 @@ public final class Log {
         post('W', msg, throwable);
     }
 
+    /**
+     * Logs an informational message.
+     *
+     * @param msg The message to log.
+     */
+    public static void info(String msg) {
+        post('I', msg, null);
+    }
+
     private static void post(char levelCode, String msg, Throwable throwable) {
+        long   when = System.currentTimeMillis();
+        String site = WALKER.walk(frames -> frames.filter(frame -> !Log.class.getName().equals(frame.getClassName())).findFirst().map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber()).orElse(""));
+        String text = msg != null ? msg : "";
+        if (throwable != null) {
+            text += "\n" + throwable;
+        }
+        int suppressed = SITES.computeIfAbsent(site, k -> new Site()).admit(levelCode + text);
+        if (suppressed != 0) {
+            if (suppressed < 0) {
+                return;
+            }
+            enqueue(new Entry('W', when, suppressedMessage(suppressed, site), null));
+        }
+        enqueue(new Entry(levelCode, when, msg, throwable));
+    }
+
+    private static String suppressedMessage(int count, String site) {
+        return "suppressed " + count + " repeated or excess message" + (count == 1 ? "" : "s") + " from " + site;
+    }
+
+    private static void enqueue(Entry entry) {
+        while (true) {
+            long tail = TAIL.get();
+            if (tail - HEAD >= CAPACITY) {
+                DROPPED.incrementAndGet();
+                return;
+            }
+            if (TAIL.compareAndSet(tail, tail + 1)) {
+                RING.set((int) (tail & (CAPACITY - 1)), entry);
+                LockSupport.unpark(WRITER);
+                return;
+            }
+        }
+    }
+
+    private static void writeEntries() {
+        while (true) {
+            LockSupport.parkNanos(WINDOW);
+            try {
+                drain(false);
+            } catch (Throwable throwable) {
+                // Keep this thread alive; there is nowhere else to report the failure to
+                throwable.printStackTrace(System.err);
+            }
+        }
+    }
+
+    /** Writes out everything queued so far. Called on shutdown. */
+    private static void flush() {
+        drain(true);
+    }
+
+    /**
+     * @param all {@code true} to also report all suppressed messages, not just those whose window
+     *            has ended.
+     */
+    private static void drain(boolean all) {
+        // There may only be one consumer of the ring at a time
+        synchronized (DRAIN_LOCK) {
+            drainRing();
+            long now = System.nanoTime();
+            for (Map.Entry<String, Site> one : SITES.entrySet()) {
+                int count = one.getValue().takeSuppressed(now, all);
+                if (count > 0) {
+                    write(new Entry('W', System.currentTimeMillis(), suppressedMessage(count, one.getKey()), null));
+                }
+            }
+            OUT.flush();
+        }
+    }
+
+    private static void drainRing() {
+        long head = HEAD;
+        while (head != TAIL.get()) {
+            int   index = (int) (head & (CAPACITY - 1));
+            Entry entry = RING.get(index);
+            if (entry == null) {
+                // The slot has been claimed, but its entry hasn't been stored yet
+                Thread.onSpinWait();
+                continue;
+            }
+            RING.set(index, null);
+            HEAD = ++head;
+            write(entry);
+        }
+        long dropped = DROPPED.getAndSet(0);
+        if (dropped > 0) {
+            write(new Entry('W', System.currentTimeMillis(), "dropped " + dropped + " log message" + (dropped == 1 ? "" : "s") + " due to a full queue", null));
+        }
+    }
+
+    private static void write(Entry entry) {
         StringBuilder buffer = new StringBuilder();
-        buffer.append(levelCode);
+        buffer.append(entry.mLevelCode);
         buffer.append(SEPARATOR);
-        buffer.append(Numbers.formatDateTime(TIMESTAMP_FORMAT, Instant.now().toEpochMilli()));
+        buffer.append(Numbers.formatDateTime(TIMESTAMP_FORMAT, entry.mWhen));
         buffer.append(SEPARATOR);
-        if (msg != null && !msg.isEmpty()) {
-            buffer.append(msg);
+        if (entry.mMsg != null && !entry.mMsg.isEmpty()) {
+            buffer.append(entry.mMsg);
         }
         OUT.println(buffer);
-        if (throwable != null) {
-            throwable.printStackTrace(OUT);
+        if (entry.mThrowable != null) {
+            entry.mThrowable.printStackTrace(OUT);
+        }
+    }
+
+    private static class Entry {
+        char      mLevelCode;
+        long      mWhen;
+        String    mMsg;
+        Throwable mThrowable;
+
+        Entry(char levelCode, long when, String msg, Throwable throwable) {
+            mLevelCode = levelCode;
+            mWhen = when;
+            mMsg = msg;
+            mThrowable = throwable;
+        }
+    }
+
+    /** Tracks how much a single call site has logged recently. */
+    private static class Site {
+        private long   mWindowStart = System.nanoTime();
+        private int    mCount;
+        private int    mSuppressed;
+        private String mLastText;
+
+        /**
+         * @param text The text of the message about to be logged.
+         * @return -1 if the message should be suppressed, otherwise the number of messages
+         *         suppressed in the window that just ended, which should be reported first.
+         */
+        synchronized int admit(String text) {
+            int  pending = 0;
+            long now     = System.nanoTime();
+            if (now - mWindowStart >= WINDOW) {
+                pending = mSuppressed;
+                mWindowStart = now;
+                mCount = 0;
+                mSuppressed = 0;
+                mLastText = null;
+            }
+            if (mCount >= MAX_PER_WINDOW || text.equals(mLastText)) {
+                mSuppressed++;
+                return -1;
+            }
+            mCount++;
+            mLastText = text;
+            return pending;
+        }
+
+        /**
+         * @param now The current time, in nanoseconds.
+         * @param all {@code true} to take the count even if the current window hasn't ended.
+         * @return The number of messages suppressed, if the window they were suppressed in has
+         *         ended. The count is reset.
+         */
+        synchronized int takeSuppressed(long now, boolean all) {
+            if (mSuppressed == 0 || !all && now - mWindowStart < WINDOW) {
+                return 0;
+            }
+            int count = mSuppressed;
+            mSuppressed = 0;
+            return count;
         }
     }
 }
@@ -81,8 +81,16 @@ public final class Timing {
         return String.format("%,.3fs", Double.valueOf(elapsedSecondsThenReset()));
     }
 
+    /**
+     * @param nanos A number of nanoseconds.
+     * @return The value in seconds, formatted the same way as {@link #toString()}.
+     */
+    public static String format(long nanos) {
+        return Numbers.trimTrailingZeroes(String.format("%,.6fs", Double.valueOf(nanos / 1000000000.0)), true);
+    }
+
     @Override
     public String toString() {
-        return Numbers.trimTrailingZeroes(toStringWithMicroResolutionThenReset(), true);
+        return format(elapsedThenReset());
     }
 }
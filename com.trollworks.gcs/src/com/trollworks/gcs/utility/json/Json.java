@@ -19,19 +19,33 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 /** Json utilities. */
 public final class Json {
-    private Reader  mReader;
-    private int     mIndex;
-    private int     mCharacter = 1;
-    private int     mLine      = 1;
-    private char    mPrevious;
-    private boolean mEOF;
-    private boolean mUsePrevious;
+    private static final int      BUFFER_SIZE             = 16384;
+    private static final int      MAX_INLINE_DIGITS       = 18;
+    private static final int      MAX_INTERNED_KEY_LENGTH = 64;
+    private static final String   DELIMITERS              = ",:]}/\\\"[{;=#";
+    private static final String[] KEY_CACHE               = new String[1024];
+    private              Reader   mReader;
+    private              char[]   mBuffer;
+    private              int      mPos;
+    private              int      mLimit;
+    private              int      mMark                   = -1;
+    private              boolean  mReadEOF;
+    private              long     mDiscarded;
+    private              int      mLine                   = 1;
+    private              int      mLineStart;
+    private              int      mLineScan;
+    private              boolean  mPreviousWasCR;
 
     /**
      * @param reader A {@link Reader} to load JSON data from.
@@ -41,6 +55,41 @@ public final class Json {
         return new Json(reader).nextValue();
     }
 
+    /**
+     * @param buffer A {@link CharBuffer} to load JSON data from. The data between its position and
+     *               limit will be used.
+     * @return The result of loading the data.
+     */
+    public static Object parse(CharBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            return new Json(buffer.array(), offset + buffer.position(), offset + buffer.limit()).nextValue();
+        }
+        char[] data = new char[buffer.remaining()];
+        buffer.duplicate().get(data);
+        return new Json(data, 0, data.length).nextValue();
+    }
+
+    /**
+     * @param path A {@link Path} to load JSON data from. {@link StandardCharsets#UTF_8} will be
+     *             used as the encoding when reading from the file.
+     * @return The result of loading the data.
+     */
+    public static Object parse(Path path) throws IOException {
+        return parse(readUTF8(path));
+    }
+
+    /**
+     * Reads the entire contents of a file in a single bulk operation.
+     *
+     * @param path The {@link Path} to read. {@link StandardCharsets#UTF_8} will be used as the
+     *             encoding when reading from the file.
+     * @return A {@link CharBuffer} containing the decoded contents of the file.
+     */
+    public static CharBuffer readUTF8(Path path) throws IOException {
+        return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
     /**
      * @param url A {@link URL} to load JSON data from.
      * @return The result of loading the data.
@@ -307,56 +356,122 @@ public final class Json {
 
     private Json(Reader reader) {
         mReader = reader;
+        mBuffer = new char[BUFFER_SIZE];
+    }
+
+    private Json(char[] buffer, int start, int limit) {
+        mBuffer = buffer;
+        mPos = start;
+        mLimit = limit;
+        mLineScan = start;
+        mDiscarded = -start;
+        mLineStart = start;
+    }
+
+    /**
+     * Moves any unconsumed data (or, if a mark is set, everything from the mark onward) to the
+     * front of the buffer and then reads as much as possible from the reader into the remaining
+     * space.
+     *
+     * @return {@code false} if no more data is available.
+     */
+    private boolean fill() throws IOException {
+        if (mReader == null) {
+            return false;
+        }
+        int keep = mMark >= 0 ? mMark : mPos;
+        if (keep > 0) {
+            scanLines(keep);
+            System.arraycopy(mBuffer, keep, mBuffer, 0, mLimit - keep);
+            mDiscarded += keep;
+            mLineStart -= keep;
+            mLineScan = 0;
+            mLimit -= keep;
+            mPos -= keep;
+            if (mMark >= 0) {
+                mMark -= keep;
+            }
+        }
+        if (mLimit == mBuffer.length) {
+            mBuffer = Arrays.copyOf(mBuffer, mBuffer.length * 2);
+        }
+        int n;
+        try {
+            n = mReader.read(mBuffer, mLimit, mBuffer.length - mLimit);
+        } catch (IOException ioe) {
+            Log.error(toString());
+            throw ioe;
+        }
+        if (n <= 0) {
+            mReader = null;
+            return false;
+        }
+        mLimit += n;
+        return true;
+    }
+
+    /**
+     * Updates the line tracking information for the data in the buffer up to, but not including,
+     * the specified position. Only needed when data is about to be discarded or an error position
+     * needs to be reported.
+     */
+    private void scanLines(int end) {
+        for (int i = mLineScan; i < end; i++) {
+            char c = mBuffer[i];
+            if (c == '\r' || (c == '\n' && !mPreviousWasCR)) {
+                mLine++;
+            }
+            if (c == '\r' || c == '\n') {
+                mLineStart = i + 1;
+            }
+            mPreviousWasCR = c == '\r';
+        }
+        if (end > mLineScan) {
+            mLineScan = end;
+        }
     }
 
     private char next() throws IOException {
-        int c;
-        if (mUsePrevious) {
-            mUsePrevious = false;
-            c = mPrevious;
-        } else {
-            try {
-                c = mReader.read();
-            } catch (IOException ioe) {
-                Log.error(toString());
-                throw ioe;
-            }
-            if (c <= 0) { // End of stream
-                mEOF = true;
-                c = 0;
-            }
-        }
-        mIndex++;
-        if (mPrevious == '\r') {
-            mLine++;
-            mCharacter = c == '\n' ? 0 : 1;
-        } else if (c == '\n') {
-            mLine++;
-            mCharacter = 0;
+        if (mPos < mLimit || fill()) {
+            mReadEOF = false;
+            return mBuffer[mPos++];
+        }
+        mReadEOF = true;
+        return 0;
+    }
+
+    private void back() {
+        if (mReadEOF) {
+            mReadEOF = false;
+        } else if (mPos > 0) {
+            mPos--;
         } else {
-            mCharacter++;
+            throw new IllegalStateException("stepping back past the start of the buffer is not supported");
         }
-        mPrevious = (char) c;
-        return mPrevious;
     }
 
     private char nextSkippingWhitespace() throws IOException {
         for (; ; ) {
-            char c = next();
-            if (c == 0 || c > ' ') {
-                return c;
+            while (mPos < mLimit) {
+                char c = mBuffer[mPos++];
+                if (c == 0 || c > ' ') {
+                    mReadEOF = false;
+                    return c;
+                }
+            }
+            if (!fill()) {
+                mReadEOF = true;
+                return 0;
             }
         }
     }
 
     private Object nextValue() throws IOException {
-        char   c = nextSkippingWhitespace();
-        String s;
-
+        char c = nextSkippingWhitespace();
         switch (c) {
         case '"':
         case '\'':
-            return nextString(c);
+            return nextString(c, false);
         case '{':
             back();
             return nextMap();
@@ -365,31 +480,80 @@ public final class Json {
             back();
             return nextArray();
         default:
-            break;
+            back();
+            return nextBareValue();
         }
+    }
 
-        StringBuilder sb = new StringBuilder();
-        while (c >= ' ' && ",:]}/\\\"[{;=#".indexOf(c) < 0) {
-            sb.append(c);
-            c = next();
+    private Object nextBareValue() throws IOException {
+        mMark = mPos;
+        for (; ; ) {
+            while (mPos < mLimit) {
+                char c = mBuffer[mPos];
+                if (c < ' ' || DELIMITERS.indexOf(c) >= 0) {
+                    return bareValue();
+                }
+                mPos++;
+            }
+            if (!fill()) {
+                return bareValue();
+            }
         }
-        back();
+    }
 
-        s = sb.toString().trim();
-        if (s.isEmpty()) {
+    private Object bareValue() throws IOException {
+        int start = mMark;
+        int end   = mPos;
+        mMark = -1;
+        while (start < end && mBuffer[start] <= ' ') {
+            start++;
+        }
+        while (end > start && mBuffer[end - 1] <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0) {
             throw syntaxError("missing value");
         }
-        if ("true".equalsIgnoreCase(s)) {
+        if (matchesIgnoringCase(start, length, "true")) {
             return Boolean.TRUE;
         }
-        if ("false".equalsIgnoreCase(s)) {
+        if (matchesIgnoringCase(start, length, "false")) {
             return Boolean.FALSE;
         }
-        if ("null".equalsIgnoreCase(s)) {
+        if (matchesIgnoringCase(start, length, "null")) {
             return JsonNull.INSTANCE;
         }
-
-        char b = s.charAt(0);
+        char b = mBuffer[start];
+        if (b >= '0' && b <= '9' || b == '-' || b == '+') {
+            // Fast path for the common case of a plain integer that fits within a long
+            int     i        = start;
+            boolean negative = b == '-';
+            if (negative || b == '+') {
+                i++;
+            }
+            if (i < end && end - i <= MAX_INLINE_DIGITS) {
+                long value = 0;
+                while (i < end) {
+                    char c = mBuffer[i];
+                    if (c < '0' || c > '9') {
+                        break;
+                    }
+                    value = value * 10 + (c - '0');
+                    i++;
+                }
+                if (i == end) {
+                    if (negative) {
+                        value = -value;
+                    }
+                    if (value == (int) value) {
+                        return Integer.valueOf((int) value);
+                    }
+                    return Long.valueOf(value);
+                }
+            }
+        }
+        String s = new String(mBuffer, start, length);
         if (b >= '0' && b <= '9' || b == '.' || b == '-' || b == '+') {
             if (b == '0' && s.length() > 2 && (s.charAt(1) == 'x' || s.charAt(1) == 'X')) {
                 try {
@@ -414,6 +578,18 @@ public final class Json {
         return s;
     }
 
+    private boolean matchesIgnoringCase(int start, int length, String lowerCaseWord) {
+        if (length != lowerCaseWord.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase(mBuffer[start + i]) != lowerCaseWord.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private JsonArray nextArray() throws IOException {
         char c = nextSkippingWhitespace();
         char q;
@@ -471,6 +647,10 @@ public final class Json {
                 throw syntaxError("JSON object text must end with '}'");
             case '}':
                 return map;
+            case '"':
+            case '\'':
+                key = nextString(c, true);
+                break;
             default:
                 back();
                 key = nextValue().toString();
@@ -505,9 +685,41 @@ public final class Json {
         }
     }
 
-    private String nextString(char quote) throws IOException {
-        char          c;
-        StringBuilder buffer = new StringBuilder();
+    /**
+     * @param quote  The character that terminates the string.
+     * @param intern Pass in {@code true} to share the resulting {@link String} with other keys
+     *               having the same content.
+     * @return The string.
+     */
+    private String nextString(char quote, boolean intern) throws IOException {
+        // Fast path: no escapes, so the string can be created directly from the buffer
+        mMark = mPos;
+        for (; ; ) {
+            while (mPos < mLimit) {
+                char c = mBuffer[mPos];
+                if (c == quote) {
+                    int start = mMark;
+                    mMark = -1;
+                    mPos++;
+                    return intern ? intern(start, mPos - 1 - start) : new String(mBuffer, start, mPos - 1 - start);
+                }
+                if (c == '\\' || c == '\n' || c == '\r' || c == 0) {
+                    StringBuilder buffer = new StringBuilder(mPos - mMark + 16);
+                    buffer.append(mBuffer, mMark, mPos - mMark);
+                    mMark = -1;
+                    return nextEscapedString(quote, buffer);
+                }
+                mPos++;
+            }
+            if (!fill()) {
+                mMark = -1;
+                throw syntaxError("unterminated string");
+            }
+        }
+    }
+
+    private String nextEscapedString(char quote, StringBuilder buffer) throws IOException {
+        char c;
         while (true) {
             c = next();
             switch (c) {
@@ -535,14 +747,32 @@ public final class Json {
         }
     }
 
-    private void back() {
-        if (mUsePrevious || mIndex <= 0) {
-            throw new IllegalStateException("stepping back two steps is not supported");
+    /**
+     * Keys are drawn from a small vocabulary and repeat many times within a single file (and across
+     * files), so a cache is consulted to avoid creating a new {@link String} for each one.
+     */
+    private String intern(int start, int length) {
+        if (length > MAX_INTERNED_KEY_LENGTH) {
+            return new String(mBuffer, start, length);
+        }
+        int hash = 0;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + mBuffer[i];
+        }
+        int    slot   = (hash ^ (hash >>> 16)) & (KEY_CACHE.length - 1);
+        String cached = KEY_CACHE[slot];
+        if (cached != null && cached.length() == length) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == mBuffer[start + i]) {
+                i++;
+            }
+            if (i == length) {
+                return cached;
+            }
         }
-        mIndex--;
-        mCharacter--;
-        mUsePrevious = true;
-        mEOF = false;
+        String key = new String(mBuffer, start, length);
+        KEY_CACHE[slot] = key;
+        return key;
     }
 
     private String next4() throws IOException {
@@ -550,7 +780,7 @@ public final class Json {
         int    pos    = 0;
         while (pos < 4) {
             buffer[pos] = next();
-            if (mEOF && !mUsePrevious) {
+            if (mReadEOF) {
                 throw syntaxError("substring bounds error");
             }
             pos++;
@@ -564,6 +794,16 @@ public final class Json {
 
     @Override
     public String toString() {
-        return " at " + mIndex + " [character " + mCharacter + " line " + mLine + "]";
+        int     line          = mLine;
+        int     lineStart     = mLineStart;
+        int     lineScan      = mLineScan;
+        boolean previousWasCR = mPreviousWasCR;
+        scanLines(mPos);
+        String result = " at " + (mDiscarded + mPos) + " [character " + (mPos - mLineStart) + " line " + mLine + "]";
+        mLine = line;
+        mLineStart = lineStart;
+        mLineScan = lineScan;
+        mPreviousWasCR = previousWasCR;
+        return result;
     }
 }
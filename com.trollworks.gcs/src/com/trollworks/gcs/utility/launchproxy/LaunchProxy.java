@@ -31,6 +31,14 @@ import java.util.List;
  * only a single instance.
  */
 public class LaunchProxy {
+    /**
+     * How long to wait for an instance that is already running to take over. A ready instance
+     * answers over the loopback connection within a few milliseconds; one that is still starting up
+     * doesn't answer at all, in which case this launch carries on by itself.
+     */
+    private static final long TAKE_OVER_TIMEOUT   = 500;
+    private static final long MAX_RECONNECT_DELAY = 250;
+
     private InetSocketAddress mSocketAddress;
     private Server            mServer;
     private Socket            mSocket;
@@ -52,6 +60,22 @@ public class LaunchProxy {
             files.add(p.toAbsolutePath().toString());
         }
         reconnect();
+        startReceptionThread();
+        // If this instance ended up running the server, nothing else was listening and there is no
+        // other instance to hand this launch to.
+        if (mServer == null) {
+            send(new ConduitMessage("GCS", mID, State.LAUNCH, files));
+            try {
+                // The reception thread exits as soon as another instance acknowledges that it
+                // took over, so this only runs to completion when none did.
+                Thread.sleep(TAKE_OVER_TIMEOUT);
+            } catch (Exception exception) {
+                // Ignore
+            }
+        }
+    }
+
+    private void startReceptionThread() {
         Thread receptionThread = new Thread(() -> {
             while (true) {
                 try {
@@ -93,13 +117,6 @@ public class LaunchProxy {
         }, "LaunchProxy");
         receptionThread.setDaemon(true);
         receptionThread.start();
-        send(new ConduitMessage("GCS", mID, State.LAUNCH, files));
-        try {
-            // Give it a chance to terminate this run...
-            Thread.sleep(1500);
-        } catch (Exception exception) {
-            // Ignore
-        }
     }
 
     private void reconnect() {
@@ -109,6 +126,7 @@ public class LaunchProxy {
             mServer = null;
         }
 
+        long delay = 10;
         while (true) {
             try {
                 mServer = new Server(mSocketAddress);
@@ -125,9 +143,15 @@ public class LaunchProxy {
                 return;
             } catch (Exception exception) {
                 // The server is no longer around or hasn't quite started up
-                // yet, so loop and try again.
+                // yet, so back off a little and try again.
                 shutdownSocket();
             }
+            try {
+                Thread.sleep(delay);
+            } catch (Exception exception) {
+                // Ignore
+            }
+            delay = Math.min(delay * 2, MAX_RECONNECT_DELAY);
         }
     }
 
@@ -14,9 +14,10 @@ package com.trollworks.gcs.utility.undo;
 import com.trollworks.gcs.utility.I18n;
 
 import javax.swing.undo.CompoundEdit;
+import javax.swing.undo.UndoableEdit;
 
 /** Provides a convenient way to collect multiple undos into a single undo. */
-public class MultipleUndo extends CompoundEdit {
+public class MultipleUndo extends CompoundEdit implements SizedEdit {
     private String mName;
 
     /**
@@ -28,6 +29,15 @@ public class MultipleUndo extends CompoundEdit {
         mName = name;
     }
 
+    @Override
+    public long getEstimatedSize() {
+        long total = 0;
+        for (UndoableEdit edit : edits) {
+            total += StdUndoManager.estimateSize(edit);
+        }
+        return total;
+    }
+
     @Override
     public String getPresentationName() {
         return mName;
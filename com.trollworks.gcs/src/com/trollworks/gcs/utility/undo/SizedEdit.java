@@ -0,0 +1,20 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.utility.undo;
+
+import javax.swing.undo.UndoableEdit;
+
+/** An {@link UndoableEdit} that can estimate how much memory it keeps alive. */
+public interface SizedEdit extends UndoableEdit {
+    /** @return The approximate number of bytes retained by this edit. */
+    long getEstimatedSize();
+}
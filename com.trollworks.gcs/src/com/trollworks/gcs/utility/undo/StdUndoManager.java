@@ -20,9 +20,17 @@ import javax.swing.undo.CannotUndoException;
 import javax.swing.undo.UndoManager;
 import javax.swing.undo.UndoableEdit;
 
-/** The standard {@link UndoManager} for use with our app's windows. */
+/**
+ * The standard {@link UndoManager} for use with our app's windows. In addition to the usual limit
+ * on the number of edits, the edits it holds onto are kept within a memory budget, discarding the
+ * oldest ones first when it is exceeded.
+ */
 public class StdUndoManager extends UndoManager {
-    private boolean mInTransaction;
+    /** The default memory budget, in bytes. */
+    public static final  long    DEFAULT_BYTE_BUDGET = 16L * 1024 * 1024;
+    private static final long    DEFAULT_EDIT_SIZE   = 256;
+    private              long    mByteBudget         = DEFAULT_BYTE_BUDGET;
+    private              boolean mInTransaction;
 
     @Override
     public synchronized void undo() throws CannotUndoException {
@@ -38,6 +46,51 @@ public class StdUndoManager extends UndoManager {
         mInTransaction = false;
     }
 
+    @Override
+    public synchronized boolean addEdit(UndoableEdit edit) {
+        boolean result = super.addEdit(edit);
+        if (result) {
+            trimToByteBudget();
+        }
+        return result;
+    }
+
+    /** @return The approximate number of bytes the edits held onto may retain. */
+    public synchronized long getByteBudget() {
+        return mByteBudget;
+    }
+
+    /** @param budget The approximate number of bytes the edits held onto may retain. */
+    public synchronized void setByteBudget(long budget) {
+        mByteBudget = budget;
+        trimToByteBudget();
+    }
+
+    /** @return The approximate number of bytes currently retained by the edits. */
+    public synchronized long getEstimatedSize() {
+        long total = 0;
+        for (UndoableEdit edit : edits) {
+            total += estimateSize(edit);
+        }
+        return total;
+    }
+
+    private void trimToByteBudget() {
+        // The most recent edit is always kept, regardless of its size
+        long total = 0;
+        for (int i = edits.size() - 1; i >= 0; i--) {
+            total += estimateSize(edits.get(i));
+            if (total > mByteBudget && i < edits.size() - 1) {
+                trimEdits(0, i);
+                break;
+            }
+        }
+    }
+
+    static long estimateSize(UndoableEdit edit) {
+        return edit instanceof SizedEdit ? ((SizedEdit) edit).getEstimatedSize() : DEFAULT_EDIT_SIZE;
+    }
+
     /** @return Whether this {@link UndoManager} is currently processing an undo or redo. */
     public boolean isInTransaction() {
         return mInTransaction;
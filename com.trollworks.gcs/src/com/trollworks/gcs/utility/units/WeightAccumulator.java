@@ -0,0 +1,103 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.utility.units;
+
+import com.trollworks.gcs.utility.Fixed6;
+
+/**
+ * A mutable weight total that works on raw {@link Fixed6} values, so that summing a large number of
+ * weights doesn't create a new object for every step. Results are identical to those obtained by
+ * adding the equivalent {@link WeightValue}s together.
+ */
+public class WeightAccumulator {
+    private static final long RAW_2  = new Fixed6(2).getRawValue();
+    private static final long RAW_30 = new Fixed6(30).getRawValue();
+
+    private WeightUnits mUnits;
+    private long        mRawValue;
+
+    /** @param units The units to keep the total in. */
+    public WeightAccumulator(WeightUnits units) {
+        mUnits = units;
+    }
+
+    /** @return The units the total is kept in. */
+    public WeightUnits getUnits() {
+        return mUnits;
+    }
+
+    /** @return The raw {@link Fixed6} value of the total. */
+    public long getRawValue() {
+        return mRawValue;
+    }
+
+    /** @param value The raw {@link Fixed6} value to set the total to. */
+    public void setRawValue(long value) {
+        mRawValue = value;
+    }
+
+    /**
+     * @param units The units of the value.
+     * @param value The raw {@link Fixed6} value to add.
+     */
+    public void add(WeightUnits units, long value) {
+        mRawValue += mUnits.convertRaw(units, value);
+    }
+
+    /**
+     * Adds a value after first converting it by the GURPS Metric rules, as is done by {@code
+     * GURPSCharacter.convertToGurpsMetric()} and {@code GURPSCharacter.convertFromGurpsMetric()}.
+     *
+     * @param units    The units of the value.
+     * @param value    The raw {@link Fixed6} value to add.
+     * @param toMetric {@code true} to convert imperial values into metric ones, {@code false} to
+     *                 convert metric values into imperial ones.
+     */
+    public void addSimpleMetric(WeightUnits units, long value, boolean toMetric) {
+        if (toMetric) {
+            switch (units) {
+            case LB -> add(WeightUnits.KG, Fixed6.divRaw(value, RAW_2));
+            case LT, TN -> add(WeightUnits.T, value);
+            case OZ -> add(WeightUnits.G, Fixed6.mulRaw(value, RAW_30));
+            default -> add(units, value);
+            }
+        } else {
+            switch (units) {
+            case G -> add(WeightUnits.OZ, Fixed6.divRaw(value, RAW_30));
+            case KG -> add(WeightUnits.LB, Fixed6.mulRaw(value, RAW_2));
+            case T -> add(WeightUnits.LT, value);
+            default -> add(units, value);
+            }
+        }
+    }
+
+    /**
+     * @param units The units of the value.
+     * @param value The raw {@link Fixed6} value to subtract.
+     */
+    public void subtract(WeightUnits units, long value) {
+        mRawValue -= mUnits.convertRaw(units, value);
+    }
+
+    /**
+     * @param weight The {@link WeightValue} to compare against.
+     * @return Whether the total is exactly the same as the {@link WeightValue}, including units.
+     */
+    public boolean isSameAs(WeightValue weight) {
+        return weight != null && weight.getUnits() == mUnits && weight.getValue().getRawValue() == mRawValue;
+    }
+
+    /** @return A new {@link WeightValue} with the total. */
+    public WeightValue toWeightValue() {
+        return new WeightValue(Fixed6.fromRawValue(mRawValue), mUnits);
+    }
+}
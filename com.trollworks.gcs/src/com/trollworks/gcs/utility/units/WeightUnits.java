@@ -85,11 +85,32 @@ public enum WeightUnits implements Units {
         return units.getFactor().mul(value).div(mFactor);
     }
 
+    /**
+     * Raw-value version of {@link #convert(Units, Fixed6)}.
+     *
+     * @param units The units to convert from.
+     * @param value The raw {@link Fixed6} value to convert.
+     * @return The raw converted value.
+     */
+    public long convertRaw(WeightUnits units, long value) {
+        return Fixed6.divRaw(Fixed6.mulRaw(units.mFactor.getRawValue(), value), mFactor.getRawValue());
+    }
+
     @Override
     public Fixed6 normalize(Fixed6 value) {
         return mFactor.mul(value);
     }
 
+    /**
+     * Raw-value version of {@link #normalize(Fixed6)}.
+     *
+     * @param value The raw {@link Fixed6} value to normalize.
+     * @return The raw normalized value.
+     */
+    public long normalizeRaw(long value) {
+        return Fixed6.mulRaw(mFactor.getRawValue(), value);
+    }
+
     @Override
     public Fixed6 getFactor() {
         return mFactor;
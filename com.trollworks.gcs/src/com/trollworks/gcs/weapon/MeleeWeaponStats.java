@@ -121,6 +121,16 @@ public class MeleeWeaponStats extends WeaponStats {
 
     /** @return The parry, fully resolved for the user's skills, if possible. */
     public String getResolvedParry(StringBuilder toolTip) {
+        if (toolTip == null) {
+            WeaponResolution resolution = getResolution();
+            if (resolution != null) {
+                return resolution.mParry;
+            }
+        }
+        return resolveParry(toolTip);
+    }
+
+    String resolveParry(StringBuilder toolTip) {
         return getResolvedValue(mParry, "parry", toolTip);
     }
 
@@ -249,6 +259,16 @@ public class MeleeWeaponStats extends WeaponStats {
 
     /** @return The block, fully resolved for the user's skills, if possible. */
     public String getResolvedBlock(StringBuilder toolTip) {
+        if (toolTip == null) {
+            WeaponResolution resolution = getResolution();
+            if (resolution != null) {
+                return resolution.mBlock;
+            }
+        }
+        return resolveBlock(toolTip);
+    }
+
+    String resolveBlock(StringBuilder toolTip) {
         return getResolvedValue(mBlock, "block", toolTip);
     }
 
@@ -297,19 +317,15 @@ public class MeleeWeaponStats extends WeaponStats {
     }
 
     public String getParryToolTip() {
-        StringBuilder toolTip = new StringBuilder();
-        if (mOwner.getDataFile() instanceof GURPSCharacter) {
-            getResolvedParry(toolTip);
-        }
+        WeaponResolution resolution = getResolution();
+        String           toolTip    = resolution != null ? resolution.mParryToolTip : "";
         return toolTip.isEmpty() ? SkillLevel.getNoAdditionalModifiers() :
                 SkillLevel.getIncludesModifiersFrom() + toolTip;
     }
 
     public String getBlockToolTip() {
-        StringBuilder toolTip = new StringBuilder();
-        if (mOwner.getDataFile() instanceof GURPSCharacter) {
-            getResolvedBlock(toolTip);
-        }
+        WeaponResolution resolution = getResolution();
+        String           toolTip    = resolution != null ? resolution.mBlockToolTip : "";
         return toolTip.isEmpty() ? SkillLevel.getNoAdditionalModifiers() :
                 SkillLevel.getIncludesModifiersFrom() + toolTip;
     }
@@ -239,17 +239,22 @@ public class WeaponDamage {
 
     /** @return The damage, fully resolved for the user's sw or thr, if possible. */
     public String getResolvedDamage() {
-        return getResolvedDamage(null);
+        WeaponResolution resolution = mOwner.getResolution();
+        return resolution != null ? resolution.mDamage : resolve(null);
     }
 
     public String getDamageToolTip() {
-        StringBuilder toolTip = new StringBuilder();
-        getResolvedDamage(toolTip);
+        WeaponResolution resolution = mOwner.getResolution();
+        String           toolTip    = resolution != null ? resolution.mDamageToolTip : "";
         return toolTip.isEmpty() ? I18n.text("No additional modifiers") : I18n.text("Includes modifiers from") + toolTip;
     }
 
     /** @return The damage, fully resolved for the user's sw or thr, if possible. */
     public String getResolvedDamage(StringBuilder toolTip) {
+        return toolTip != null ? resolve(toolTip) : getResolvedDamage();
+    }
+
+    String resolve(StringBuilder toolTip) {
         if (mOwner.mOwner != null) {
             DataFile df = mOwner.mOwner.getDataFile();
             if (df instanceof GURPSCharacter) {
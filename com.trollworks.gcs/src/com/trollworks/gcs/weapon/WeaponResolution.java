@@ -0,0 +1,66 @@
+/*
+ * Copyright ©1998-2021 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.weapon;
+
+import com.trollworks.gcs.character.GURPSCharacter;
+
+/**
+ * The values of a weapon that depend upon the character it belongs to. Resolving these is costly
+ * and each one is asked for several times whenever the weapon lists are laid out, drawn or hashed,
+ * so they are resolved together once and then reused until the character's recalculation epoch
+ * moves on.
+ */
+final class WeaponResolution {
+    final GURPSCharacter mCharacter;
+    final long           mEpoch;
+    final int            mLevel;
+    final String         mLevelToolTip;
+    final String         mDamage;
+    final String         mDamageToolTip;
+    final String         mParry;
+    final String         mParryToolTip;
+    final String         mBlock;
+    final String         mBlockToolTip;
+
+    WeaponResolution(WeaponStats weapon, GURPSCharacter character) {
+        mCharacter = character;
+        mEpoch = character.getRecalculationEpoch();
+        StringBuilder toolTip = new StringBuilder();
+        mLevel = weapon.resolveSkillLevel(character, toolTip);
+        mLevelToolTip = toolTip.toString();
+        toolTip.setLength(0);
+        mDamage = weapon.getDamage().resolve(toolTip);
+        mDamageToolTip = toolTip.toString();
+        if (weapon instanceof MeleeWeaponStats) {
+            MeleeWeaponStats melee = (MeleeWeaponStats) weapon;
+            toolTip.setLength(0);
+            mParry = melee.resolveParry(toolTip);
+            mParryToolTip = toolTip.toString();
+            toolTip.setLength(0);
+            mBlock = melee.resolveBlock(toolTip);
+            mBlockToolTip = toolTip.toString();
+        } else {
+            mParry = "";
+            mParryToolTip = "";
+            mBlock = "";
+            mBlockToolTip = "";
+        }
+    }
+
+    /**
+     * @param character The character the weapon currently belongs to.
+     * @return {@code true} if these values still reflect the current state of the character.
+     */
+    boolean isCurrent(GURPSCharacter character) {
+        return mCharacter == character && mEpoch == character.getRecalculationEpoch();
+    }
+}
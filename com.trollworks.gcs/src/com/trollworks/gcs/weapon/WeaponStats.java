@@ -53,6 +53,7 @@ public abstract class WeaponStats {
     private   String             mUsage;
     private   String             mUsageNotes;
     private   List<SkillDefault> mDefaults;
+    private   WeaponResolution   mResolution;
 
     public static void loadFromJSONArray(ListRow row, JsonArray a, List<WeaponStats> list) throws IOException {
         int count = a.size();
@@ -194,10 +195,12 @@ public abstract class WeaponStats {
     public void setDefaults(List<SkillDefault> defaults) {
         if (!mDefaults.equals(defaults)) {
             mDefaults = new ArrayList<>(defaults);
+            mResolution = null;
         }
     }
 
     protected void notifyOfChange() {
+        mResolution = null;
         if (mOwner != null) {
             mOwner.notifyOfChange();
         }
@@ -273,12 +276,28 @@ public abstract class WeaponStats {
         }
     }
 
-    public String getSkillLevelToolTip() {
-        StringBuilder toolTip = new StringBuilder();
-        DataFile      df      = mOwner.getDataFile();
+    /**
+     * @return The values of this weapon that depend upon its character, or {@code null} if it
+     *         doesn't belong to one. These are only resolved again once the character has changed
+     *         or been recalculated since the last time.
+     */
+    WeaponResolution getResolution() {
+        DataFile df = mOwner != null ? mOwner.getDataFile() : null;
         if (df instanceof GURPSCharacter) {
-            getSkillLevel((GURPSCharacter) df, toolTip);
+            GURPSCharacter   character  = (GURPSCharacter) df;
+            WeaponResolution resolution = mResolution;
+            if (resolution == null || !resolution.isCurrent(character)) {
+                resolution = new WeaponResolution(this, character);
+                mResolution = resolution;
+            }
+            return resolution;
         }
+        return null;
+    }
+
+    public String getSkillLevelToolTip() {
+        WeaponResolution resolution = getResolution();
+        String           toolTip    = resolution != null ? resolution.mLevelToolTip : "";
         return toolTip.isEmpty() ? I18n.text("No additional modifiers") : I18n.text("Includes modifiers from") + toolTip;
     }
 
@@ -292,14 +311,11 @@ public abstract class WeaponStats {
 
     /** @return The skill level. */
     public int getSkillLevel() {
-        DataFile df = mOwner.getDataFile();
-        if (df instanceof GURPSCharacter) {
-            return getSkillLevel((GURPSCharacter) df, null);
-        }
-        return 0;
+        WeaponResolution resolution = getResolution();
+        return resolution != null ? resolution.mLevel : 0;
     }
 
-    private int getSkillLevel(GURPSCharacter character, StringBuilder toolTip) {
+    int resolveSkillLevel(GURPSCharacter character, StringBuilder toolTip) {
         StringBuilder primaryToolTip = toolTip != null ? new StringBuilder() : null;
         int           preAdj         = getSkillLevelBaseAdjustment(character, primaryToolTip);
         int           postAdj        = getSkillLevelPostAdjustment(character, primaryToolTip);
@@ -490,6 +506,7 @@ public abstract class WeaponStats {
      */
     public void setOwner(ListRow owner) {
         mOwner = owner;
+        mResolution = null;
     }
 
     @Override